@@ -0,0 +1,59 @@
+package project.toy.api.config.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Future;
+
+@Slf4j
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+    public static final String MATCHING_EXECUTOR = "matchingExecutor";
+    public static final String INGEST_EXECUTOR = "ingestExecutor";
+
+    @Value("${publicData.lostItem.matching.eventQueueCapacity:1000}")
+    private int eventQueueCapacity;
+
+    /**
+     * match ledger 를 쓰는 작업 (적재 event 매칭, 하루 1번 sendEmail, 회원 분실물 재매칭) 전용.
+     * 모두 thread 1개에서 순서대로 실행되므로 같은 (회원 분실물, 분실물) 쌍을 동시에 insert 하지 않는다.
+     * 대기열이 가득 차면 버리고 (적재 commit 에 영향을 주지 않도록) 다음 sendEmail 에서 다시 매칭한다.
+     * 버린 작업이 submit 으로 등록된 경우 기다리는 쪽이 풀리도록 취소한다.
+     */
+    @Bean(name = MATCHING_EXECUTOR)
+    public ThreadPoolTaskExecutor matchingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(eventQueueCapacity);
+        executor.setThreadNamePrefix("matching-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            log.warn("matching event queue full. discard event. queueSize={}", pool.getQueue().size());
+            if (task instanceof Future) {
+                ((Future<?>) task).cancel(false);
+            }
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * 분실물 적재 작업 (매시 setLostItem, 기동 시 backfill / replay / bi-gram 색인) 전용.
+     * 같은 신규 분실물을 두 작업이 동시에 없다고 보고 insert 하지 않도록 thread 1개에서 순서대로 실행한다.
+     */
+    @Bean(name = INGEST_EXECUTOR)
+    public ThreadPoolTaskExecutor ingestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);     // backfill 은 checkpoint 부터 재개되므로 기다리지 않음
+        return executor;
+    }
+}
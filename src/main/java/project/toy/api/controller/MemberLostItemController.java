@@ -3,10 +3,10 @@ package project.toy.api.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import project.toy.api.domain.MemberLostItem;
 import project.toy.api.request.MemberLostItemCreate;
 import project.toy.api.request.MemberLostItemEdit;
 import project.toy.api.response.CommonResponse;
+import project.toy.api.response.MemberLostItemResponse;
 import project.toy.api.service.MemberLostItemService;
 
 import javax.validation.Valid;
@@ -19,14 +19,14 @@ public class MemberLostItemController {
 
     @PostMapping("/memberLostItem")
     public ResponseEntity<CommonResponse> save(@RequestBody @Valid MemberLostItemCreate create){
-        memberLostItemService.save(create);
+        MemberLostItemResponse saveItem = memberLostItemService.save(create);
 
-        return ResponseEntity.ok().body(CommonResponse.defaultCommonResponse());
+        return ResponseEntity.ok().body(CommonResponse.defaultCommonResponse(saveItem));
     }
 
     @PatchMapping("/memberLostItem/{id}")
     public CommonResponse edit(@PathVariable Long id, @RequestBody @Valid MemberLostItemEdit edit) {
-        MemberLostItem editItem = memberLostItemService.edit(id, edit);
+        MemberLostItemResponse editItem = memberLostItemService.edit(id, edit);
 
         return CommonResponse.defaultCommonResponse(editItem);
     }
@@ -0,0 +1,62 @@
+package project.toy.api.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+@Entity
+@Getter
+@NoArgsConstructor
+public class JobCheckpoint extends BaseTimeEntity {
+
+    public static final String BACKFILL = "LOST_ITEM_BACKFILL";
+    public static final String INCREMENTAL = "LOST_ITEM_INCREMENTAL";
+    public static final String MATCH = "LOST_ITEM_MATCH";
+    public static final String GRAM_INDEX = "LOST_ITEM_GRAM_INDEX";    // 완료 전까지 매칭 조회는 bi-gram 색인 없이 LIKE 로 찾는다
+
+    @Id
+    @Column(name = "JOB_CHECKPOINT_ID")
+    private String id;                  // 작업명
+
+    private int targetIndex;            // backfill 목표 index (list_total_count)
+
+    private int completedIndex;         // 1부터 연속으로 저장 완료된 마지막 index
+
+    private int listTotalCount;         // 마지막 수집 시점의 list_total_count
+
+    private String lastLostItemId;      // 마지막 수집까지 저장된 가장 큰 분실물 SEQ
+
+    private String matchedAt;           // 매칭 완료 시각, 이 시각 이후 수정된 분실물만 다음 매칭 대상 (yyyy/MM/dd HH:mm:ss)
+
+    public JobCheckpoint(String id) {
+        this.id = id;
+    }
+
+    public void extendTarget(int targetIndex) {
+        this.targetIndex = Math.max(this.targetIndex, targetIndex);
+    }
+
+    public void complete(int completedIndex) {
+        this.completedIndex = Math.max(this.completedIndex, completedIndex);
+    }
+
+    public void advance(int listTotalCount, String lastLostItemId) {
+        this.listTotalCount = listTotalCount;
+        this.lastLostItemId = lastLostItemId;
+    }
+
+    public void indexedUntil(String lastLostItemId) {
+        this.lastLostItemId = lastLostItemId;
+    }
+
+    public void matchedUntil(String matchedAt) {
+        this.matchedAt = matchedAt;
+    }
+
+    public boolean isCompleted() {
+        return completedIndex >= targetIndex;
+    }
+}
@@ -13,6 +13,7 @@ import javax.persistence.*;
 @Setter
 @NoArgsConstructor
 @DynamicUpdate // 변경 컬럼만 update
+@Table(indexes = @Index(name = "IDX_LOST_ITEM_LAST_MODIFIED_AT", columnList = "lastModifiedAt"))
 public class LostItem extends BaseTimeEntity{
 
     @Id
@@ -37,6 +38,8 @@ public class LostItem extends BaseTimeEntity{
 
     private String getDate;             // 수령일 (습득일)
 
+    private String fingerprint;         // api 원본 row hash, 변경 여부 비교용
+
     @Builder
     public LostItem(String id, LostStatus status, LostCategory category, String itemName, String itemDetailInfo, String takePlace, String takePosition, String regDate, String getDate) {
         this.id = id;
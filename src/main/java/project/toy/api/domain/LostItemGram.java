@@ -0,0 +1,79 @@
+package project.toy.api.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 분실물명/상세내용의 2글자(bi-gram) 색인. 한글은 띄어쓰기가 일정하지 않아 단어 대신 글자 조각으로 색인한다.
+ * keyword 가 text 에 포함되면 keyword 의 bi-gram 은 모두 text 의 bi-gram 에 있으므로,
+ * bi-gram 으로 후보를 줄인 뒤 contains 로 확인하면 LIKE '%keyword%' 와 같은 결과가 된다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@IdClass(LostItemGram.Key.class)
+@Table(indexes = @Index(name = "IDX_LOST_ITEM_GRAM", columnList = "gramType, gram, LOST_ITEM_ID"))
+public class LostItemGram {
+
+    public static final String ITEM_NAME = "ITEM_NAME";
+    public static final String ITEM_DETAIL_INFO = "ITEM_DETAIL_INFO";
+
+    private static final int GRAM_LENGTH = 2;
+
+    @Id
+    @Column(name = "LOST_ITEM_ID")
+    private String lostItemId;          // 분실물 SEQ
+
+    @Id
+    private String gramType;            // 색인 대상 컬럼 (ITEM_NAME, ITEM_DETAIL_INFO)
+
+    @Id
+    private String gram;                // 공백 제거, 소문자 변환 후 2글자 조각
+
+    public LostItemGram(String lostItemId, String gramType, String gram) {
+        this.lostItemId = lostItemId;
+        this.gramType = gramType;
+        this.gram = gram;
+    }
+
+    /**
+     * text 의 bi-gram (중복 제거). 공백을 지우고 소문자로 바꾸므로 "갤럭시 S22" 와 "갤럭시s22" 는 같은 조각을 갖는다.
+     * 1글자 text 는 조각이 없으므로 색인하지 않고 contains 로만 찾는다.
+     */
+    public static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        String normalized = normalize(text);
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    // 공백 제거, 소문자 변환
+    public static String normalize(String text) {
+        return text == null ? "" : text.replaceAll("\\s+", "").toLowerCase();
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private String lostItemId;
+
+        private String gramType;
+
+        private String gram;
+    }
+}
@@ -0,0 +1,68 @@
+package project.toy.api.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * 발송할 메일. 매칭 트랜잭션에서 함께 저장하고 MailDispatcher 가 commit 된 메일만 꺼내 보낸다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(indexes = @Index(name = "IDX_MAIL_OUTBOX_STATUS", columnList = "status, nextAttemptAt"))
+public class MailOutbox extends BaseTimeEntity {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "MAIL_OUTBOX_ID")
+    private Long id;
+
+    private String email;               // 수신자
+
+    @Lob
+    private String payload;             // 메일 내용 (SendMailVO json)
+
+    @Enumerated(EnumType.STRING)
+    private MailOutboxStatus status;
+
+    private int attempts;               // 발송 시도 횟수
+
+    private String nextAttemptAt;       // 이 시각 이후 발송 (yyyy/MM/dd HH:mm:ss)
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;           // 마지막 발송 실패 사유
+
+    public MailOutbox(String email, String payload, String nextAttemptAt) {
+        this.email = email;
+        this.payload = payload;
+        this.status = MailOutboxStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void sent() {
+        this.attempts++;
+        this.status = MailOutboxStatus.SENT;
+        this.lastError = null;
+    }
+
+    /**
+     * 발송 실패. maxAttempts 번 실패하면 더 보내지 않는다 (DEAD).
+     */
+    public void failed(String error, String nextAttemptAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = truncate(error);
+        if (attempts >= maxAttempts) {
+            this.status = MailOutboxStatus.DEAD;
+            return;
+        }
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,8 @@
+package project.toy.api.domain;
+
+public enum MailOutboxStatus {
+    // 발송 대기, 발송 완료, 재시도 횟수 초과
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,44 @@
+package project.toy.api.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * 알림을 보낸 (회원 분실물, 분실물) 쌍. 매칭 시 이미 있는 쌍은 제외해 같은 메일을 다시 보내지 않는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@IdClass(MatchLedger.Key.class)
+@Table(indexes = @Index(name = "IDX_MATCH_LEDGER_LOST_ITEM", columnList = "LOST_ITEM_ID, MEMBER_LOST_ITEM_ID"))
+public class MatchLedger extends BaseTimeEntity {
+
+    @Id
+    @Column(name = "MEMBER_LOST_ITEM_ID")
+    private Long memberLostItemId;      // 회원 분실물 ID
+
+    @Id
+    @Column(name = "LOST_ITEM_ID")
+    private String lostItemId;          // 분실물 SEQ
+
+    public MatchLedger(Long memberLostItemId, String lostItemId) {
+        this.memberLostItemId = memberLostItemId;
+        this.lostItemId = lostItemId;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private Long memberLostItemId;
+
+        private String lostItemId;
+    }
+}
@@ -14,6 +14,10 @@ public abstract class GlobalException extends RuntimeException {
         super(message);
     }
 
+    public GlobalException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
     public abstract int getStatusCode();
 
     public void addValidation(String fieldName, String message) {
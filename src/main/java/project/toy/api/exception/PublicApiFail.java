@@ -0,0 +1,22 @@
+package project.toy.api.exception;
+
+/**
+ * status -> 503
+ */
+public class PublicApiFail extends GlobalException {
+
+    public static final String MESSAGE = "공공데이터 api 호출에 실패했습니다.";
+
+    public PublicApiFail(String message) {
+        super(message);
+    }
+
+    public PublicApiFail(Throwable cause) {
+        super(MESSAGE, cause);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 503;
+    }
+}
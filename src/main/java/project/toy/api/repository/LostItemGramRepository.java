@@ -0,0 +1,7 @@
+package project.toy.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import project.toy.api.domain.LostItemGram;
+
+public interface LostItemGramRepository extends JpaRepository<LostItemGram, LostItemGram.Key>, LostItemGramRepositoryCustom {
+}
@@ -0,0 +1,7 @@
+package project.toy.api.repository;
+
+import java.util.Collection;
+
+public interface LostItemGramRepositoryCustom {
+    long deleteByLostItemIds(Collection<String> lostItemIds);
+}
@@ -0,0 +1,22 @@
+package project.toy.api.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+import static project.toy.api.domain.QLostItemGram.lostItemGram;
+
+@RequiredArgsConstructor
+public class LostItemGramRepositoryImpl implements LostItemGramRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public long deleteByLostItemIds(Collection<String> lostItemIds) {
+        return queryFactory
+                .delete(lostItemGram)
+                .where(lostItemGram.lostItemId.in(lostItemIds))
+                .execute();
+    }
+}
@@ -1,10 +1,18 @@
 package project.toy.api.repository;
 
+import project.toy.api.domain.LostItem;
 import project.toy.api.domain.MemberLostItem;
-import project.toy.api.scheduler.vo.MatchingItemVO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface LostItemRepositoryCustom {
-    List<MatchingItemVO> findMatchingLostItem(MemberLostItem memberLostItem);
+    Map<String, String> findFingerprints(Collection<String> ids);
+
+    List<LostItem> findAfter(String lastId, int limit);
+
+    List<LostItem> findCandidates(MemberLostItem memberLostItem, int limit);
+
+    List<LostItem> findModifiedBetween(String from, String to, String lastId, int limit);
 }
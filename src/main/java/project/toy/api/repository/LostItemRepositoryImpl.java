@@ -1,45 +1,144 @@
 package project.toy.api.repository;
 
-import com.querydsl.core.types.Projections;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import project.toy.api.domain.JobCheckpoint;
 import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.LostItemGram;
 import project.toy.api.domain.LostStatus;
 import project.toy.api.domain.MemberLostItem;
-import project.toy.api.scheduler.vo.MatchingItemVO;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import static com.querydsl.core.types.dsl.Expressions.asNumber;
 import static org.springframework.util.StringUtils.hasText;
+import static project.toy.api.domain.QJobCheckpoint.jobCheckpoint;
 import static project.toy.api.domain.QLostItem.lostItem;
+import static project.toy.api.domain.QLostItemGram.lostItemGram;
+import static project.toy.api.domain.QMatchLedger.matchLedger;
 
 @RequiredArgsConstructor
 public class LostItemRepositoryImpl implements LostItemRepositoryCustom{
 
     private final JPAQueryFactory queryFactory;
 
+    private volatile boolean gramIndexed;   // 기존 분실물 bi-gram 색인 완료 여부. 완료 전에는 색인 없이 LIKE 로만 찾는다
+
     @Override
-    public List<MatchingItemVO> findMatchingLostItem(MemberLostItem memberLostItem) {
-
-        List<MatchingItemVO> result = queryFactory
-                .select(Projections.fields(MatchingItemVO.class,
-                        asNumber(memberLostItem.getId()).as("memberLostItemId"),
-                        lostItem.status,
-                        lostItem.category,
-                        lostItem.itemName,
-                        lostItem.itemDetailInfo,
-                        lostItem.takePosition))
+    public Map<String, String> findFingerprints(Collection<String> ids) {
+        List<Tuple> result = queryFactory
+                .select(lostItem.id, lostItem.fingerprint)
                 .from(lostItem)
+                .where(lostItem.id.in(ids))
+                .fetch();
+
+        // fingerprint 가 없는 기존 데이터도 존재 여부는 알아야 하므로 null 값을 허용하는 HashMap 사용
+        Map<String, String> fingerprints = new HashMap<>();
+        for (Tuple tuple : result) {
+            fingerprints.put(tuple.get(lostItem.id), tuple.get(lostItem.fingerprint));
+        }
+        return fingerprints;
+    }
+
+    // id 순서로 limit 건씩 끊어 조회 (offset 없이 마지막 id 이후부터)
+    @Override
+    public List<LostItem> findAfter(String lastId, int limit) {
+        return queryFactory
+                .selectFrom(lostItem)
+                .where(idGreaterThan(lastId))
+                .orderBy(lostItem.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    /**
+     * 점수 계산 대상 분실물. 분실물명 bi-gram 이 많이 겹치는 순서로 limit 건 (종류가 같고 알림을 보내지 않은 미수령 분실물).
+     * 분실물명이 1글자 이하라 bi-gram 이 없거나 색인이 아직 완료되지 않았으면 contains 로 찾는다.
+     */
+    @Override
+    public List<LostItem> findCandidates(MemberLostItem memberLostItem, int limit) {
+        Set<String> grams = LostItemGram.grams(memberLostItem.getItemName());
+        if (grams.isEmpty() || !gramIndexed()) {
+            return queryFactory
+                    .selectFrom(lostItem)
+                    .where(
+                            lostItem.status.ne(LostStatus.RECEIVE),
+                            categoryEquals(memberLostItem.getCategory()),
+                            itemNameLike(memberLostItem.getItemName()),
+                            notNotified(memberLostItem.getId())
+                    )
+                    .limit(limit)
+                    .fetch();
+        }
+
+        NumberExpression<Long> shared = lostItemGram.gram.countDistinct();
+        List<String> ids = queryFactory
+                .select(lostItemGram.lostItemId)
+                .from(lostItemGram)
+                .innerJoin(lostItem).on(lostItem.id.eq(lostItemGram.lostItemId))
                 .where(
+                        lostItemGram.gramType.eq(LostItemGram.ITEM_NAME),
+                        lostItemGram.gram.in(grams),
                         lostItem.status.ne(LostStatus.RECEIVE),
                         categoryEquals(memberLostItem.getCategory()),
-                        itemNameLike(memberLostItem.getItemName()),
-                        itemDetailInfo(memberLostItem.getItemDetailInfo())
-                ).fetch();
+                        notNotified(memberLostItem.getId())
+                )
+                .groupBy(lostItemGram.lostItemId)
+                .orderBy(shared.desc())
+                .limit(limit)
+                .fetch();
+
+        return ids.isEmpty() ? List.of() : queryFactory
+                .selectFrom(lostItem)
+                .where(lostItem.id.in(ids))
+                .fetch();
+    }
 
-        return result;
+    /**
+     * [from, to) 사이에 저장/수정된 미수령 분실물을 id 순서로 limit 건씩 조회. from 이 없으면 처음부터.
+     */
+    @Override
+    public List<LostItem> findModifiedBetween(String from, String to, String lastId, int limit) {
+        return queryFactory
+                .selectFrom(lostItem)
+                .where(
+                        lostItem.status.ne(LostStatus.RECEIVE),
+                        modifiedFrom(from),
+                        lostItem.lastModifiedAt.lt(to),
+                        idGreaterThan(lastId)
+                )
+                .orderBy(lostItem.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    private BooleanExpression modifiedFrom(String from) {
+        return from != null ? lostItem.lastModifiedAt.goe(from) : null;
+    }
+
+    private BooleanExpression idGreaterThan(String lastId) {
+        return lastId != null ? lostItem.id.gt(lastId) : null;
+    }
+
+    // 이미 알림을 보낸 쌍 제외 (anti-join)
+    private BooleanExpression notNotified(Long memberLostItemId) {
+        if (memberLostItemId == null) {
+            return null;
+        }
+        return JPAExpressions.selectOne()
+                .from(matchLedger)
+                .where(
+                        matchLedger.memberLostItemId.eq(memberLostItemId),
+                        matchLedger.lostItemId.eq(lostItem.id)
+                ).notExists();
     }
 
     private BooleanExpression categoryEquals(LostCategory category) {
@@ -50,7 +149,18 @@ public class LostItemRepositoryImpl implements LostItemRepositoryCustom{
         return hasText(itemName) ? lostItem.itemName.contains(itemName) : null;
     }
 
-    private BooleanExpression itemDetailInfo(String itemDetailInfo) {
-        return hasText(itemDetailInfo) ? lostItem.itemDetailInfo.contains(itemDetailInfo) : null;
+    // 완료된 색인은 이후 수집 시 LostItemWriter 가 함께 갱신하므로 한 번 확인되면 다시 조회하지 않는다
+    private boolean gramIndexed() {
+        if (!gramIndexed) {
+            gramIndexed = queryFactory
+                    .selectOne()
+                    .from(jobCheckpoint)
+                    .where(
+                            jobCheckpoint.id.eq(JobCheckpoint.GRAM_INDEX),
+                            jobCheckpoint.completedIndex.goe(jobCheckpoint.targetIndex)
+                    )
+                    .fetchFirst() != null;
+        }
+        return gramIndexed;
     }
 }
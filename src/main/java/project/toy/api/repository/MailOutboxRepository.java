@@ -0,0 +1,12 @@
+package project.toy.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import project.toy.api.domain.MailOutbox;
+import project.toy.api.domain.MailOutboxStatus;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long>, MailOutboxRepositoryCustom {
+
+    long countByStatus(MailOutboxStatus status);
+
+    long countByStatusAndLastModifiedAtGreaterThanEqual(MailOutboxStatus status, String lastModifiedAt);
+}
@@ -0,0 +1,10 @@
+package project.toy.api.repository;
+
+import project.toy.api.domain.MailOutbox;
+
+import java.util.List;
+
+public interface MailOutboxRepositoryCustom {
+
+    List<MailOutbox> findDispatchable(String now, int limit);
+}
@@ -0,0 +1,32 @@
+package project.toy.api.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import project.toy.api.domain.MailOutbox;
+import project.toy.api.domain.MailOutboxStatus;
+
+import java.util.List;
+
+import static project.toy.api.domain.QMailOutbox.mailOutbox;
+
+@RequiredArgsConstructor
+public class MailOutboxRepositoryImpl implements MailOutboxRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * 발송 시각이 된 대기 메일을 먼저 쌓인 순서로 limit 건
+     */
+    @Override
+    public List<MailOutbox> findDispatchable(String now, int limit) {
+        return queryFactory
+                .selectFrom(mailOutbox)
+                .where(
+                        mailOutbox.status.eq(MailOutboxStatus.PENDING),
+                        mailOutbox.nextAttemptAt.loe(now)
+                )
+                .orderBy(mailOutbox.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+}
@@ -0,0 +1,7 @@
+package project.toy.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import project.toy.api.domain.MatchLedger;
+
+public interface MatchLedgerRepository extends JpaRepository<MatchLedger, MatchLedger.Key>, MatchLedgerRepositoryCustom {
+}
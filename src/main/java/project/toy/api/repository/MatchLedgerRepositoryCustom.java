@@ -0,0 +1,11 @@
+package project.toy.api.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public interface MatchLedgerRepositoryCustom {
+    Map<String, Set<Long>> findNotified(Collection<String> lostItemIds);
+
+    Map<Long, Long> countNotifiedSince(Collection<Long> memberLostItemIds, String since);
+}
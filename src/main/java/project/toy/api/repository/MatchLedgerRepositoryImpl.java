@@ -0,0 +1,61 @@
+package project.toy.api.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static project.toy.api.domain.QMatchLedger.matchLedger;
+
+@RequiredArgsConstructor
+public class MatchLedgerRepositoryImpl implements MatchLedgerRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * 분실물별로 이미 알림을 보낸 회원 분실물 ID
+     */
+    @Override
+    public Map<String, Set<Long>> findNotified(Collection<String> lostItemIds) {
+        List<Tuple> result = queryFactory
+                .select(matchLedger.lostItemId, matchLedger.memberLostItemId)
+                .from(matchLedger)
+                .where(matchLedger.lostItemId.in(lostItemIds))
+                .fetch();
+
+        Map<String, Set<Long>> notified = new HashMap<>();
+        for (Tuple tuple : result) {
+            notified.computeIfAbsent(tuple.get(matchLedger.lostItemId), id -> new HashSet<>())
+                    .add(tuple.get(matchLedger.memberLostItemId));
+        }
+        return notified;
+    }
+
+    /**
+     * 회원 분실물별로 since 이후 알림을 보낸 건수. since 가 없으면 전체.
+     */
+    @Override
+    public Map<Long, Long> countNotifiedSince(Collection<Long> memberLostItemIds, String since) {
+        List<Tuple> result = queryFactory
+                .select(matchLedger.memberLostItemId, matchLedger.count())
+                .from(matchLedger)
+                .where(
+                        matchLedger.memberLostItemId.in(memberLostItemIds),
+                        since != null ? matchLedger.createdAt.goe(since) : null
+                )
+                .groupBy(matchLedger.memberLostItemId)
+                .fetch();
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Tuple tuple : result) {
+            counts.put(tuple.get(matchLedger.memberLostItemId), tuple.get(matchLedger.count()));
+        }
+        return counts;
+    }
+}
@@ -3,9 +3,9 @@ package project.toy.api.repository;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import project.toy.api.domain.MemberLostItem;
-import project.toy.api.scheduler.vo.MatchingItemVO;
-import project.toy.api.scheduler.vo.SendMailVO;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static project.toy.api.domain.QMember.member;
@@ -14,6 +14,8 @@ import static project.toy.api.domain.QMemberLostItem.memberLostItem;
 @RequiredArgsConstructor
 public class MemberLostItemRepositoryImpl implements MemberLostItemRepositoryCustom{
 
+    private static final int IN_CHUNK_SIZE = 1000;
+
     private final JPAQueryFactory queryFactory;
 
     @Override
@@ -27,12 +29,22 @@ public class MemberLostItemRepositoryImpl implements MemberLostItemRepositoryCus
         return result;
     }
 
+    /**
+     * 매칭된 회원 분실물을 IN_CHUNK_SIZE 건씩 묶어 update
+     * @return 실행한 update 문 수
+     */
     @Override
-    public void memberLostItemSendStatusY(MatchingItemVO matchingItemVO) {
-        queryFactory
-                .update(memberLostItem)
-                .set(memberLostItem.sendStatus, "Y")
-                .where(memberLostItem.id.eq(matchingItemVO.getMemberLostItemId()))
-                .execute();
+    public int memberLostItemSendStatusY(Collection<Long> memberLostItemIds) {
+        List<Long> ids = new ArrayList<>(memberLostItemIds);
+        int statements = 0;
+        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+            queryFactory
+                    .update(memberLostItem)
+                    .set(memberLostItem.sendStatus, "Y")
+                    .where(memberLostItem.id.in(ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size()))))
+                    .execute();
+            statements++;
+        }
+        return statements;
     }
 }
@@ -0,0 +1,36 @@
+package project.toy.api.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@NoArgsConstructor
+public class MatchingLostItemResponse {
+
+    private String lostItemId;
+    private String status;
+    private String category;
+    private String itemName;
+    private String itemDetailInfo;
+    private String takePlace;
+    private String takePosition;
+    private String getDate;
+    private double score;
+
+    @Builder
+    public MatchingLostItemResponse(String lostItemId, String status, String category, String itemName, String itemDetailInfo,
+                                    String takePlace, String takePosition, String getDate, double score) {
+        this.lostItemId = lostItemId;
+        this.status = status;
+        this.category = category;
+        this.itemName = itemName;
+        this.itemDetailInfo = itemDetailInfo;
+        this.takePlace = takePlace;
+        this.takePosition = takePosition;
+        this.getDate = getDate;
+        this.score = score;
+    }
+}
@@ -0,0 +1,33 @@
+package project.toy.api.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@NoArgsConstructor
+public class MemberLostItemResponse {
+
+    private Long id;
+    private String category;
+    private String itemName;
+    private String itemDetailInfo;
+
+    private boolean matched;                            // false 면 즉시 매칭 시간 초과, 매칭 결과는 메일로 발송
+    private List<MatchingLostItemResponse> matchingLostItems;
+
+    @Builder
+    public MemberLostItemResponse(Long id, String category, String itemName, String itemDetailInfo,
+                                  boolean matched, List<MatchingLostItemResponse> matchingLostItems) {
+        this.id = id;
+        this.category = category;
+        this.itemName = itemName;
+        this.itemDetailInfo = itemDetailInfo;
+        this.matched = matched;
+        this.matchingLostItems = matchingLostItems;
+    }
+}
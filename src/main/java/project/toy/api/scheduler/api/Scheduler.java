@@ -1,14 +1,22 @@
 package project.toy.api.scheduler.api;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import project.toy.api.config.async.AsyncConfig;
+import project.toy.api.scheduler.service.MailDispatcher;
 import project.toy.api.scheduler.service.SchedulerService;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class Scheduler {
 
     /**********************************************************************************************
@@ -20,18 +28,85 @@ public class Scheduler {
      ***********************************************************************************************/
 
     private final SchedulerService schedulerService;
+    private final MailDispatcher mailDispatcher;
+    private final ThreadPoolTaskExecutor matchingExecutor;
+    private final ThreadPoolTaskExecutor ingestExecutor;
+
+    public Scheduler(SchedulerService schedulerService, MailDispatcher mailDispatcher,
+                     @Qualifier(AsyncConfig.MATCHING_EXECUTOR) ThreadPoolTaskExecutor matchingExecutor,
+                     @Qualifier(AsyncConfig.INGEST_EXECUTOR) ThreadPoolTaskExecutor ingestExecutor) {
+        this.schedulerService = schedulerService;
+        this.mailDispatcher = mailDispatcher;
+        this.matchingExecutor = matchingExecutor;
+        this.ingestExecutor = ingestExecutor;
+    }
 
+    // 적재 작업은 ingest executor 에서 순서대로 실행. backfill 등 앞선 작업이 아직 돌고 있으면 이번 시간은 건너뛴다.
     @Scheduled(cron = "0 0 0/1 * * *")
     public void setLostItem() {
+        if (ingestExecutor.getActiveCount() > 0 || !ingestExecutor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            log.info("##### setLostItem Skip (ingest running) #####");
+            return;
+        }
         log.info("##### setLostItem Start #####");
-        schedulerService.setLostItem();
+        await(ingestExecutor.submit(schedulerService::setLostItem));
         log.info("##### setLostItem End #####");
     }
 
-    @Scheduled(cron = "0 0 0/1 * * *")
+    // 기동 thread 를 잡지 않도록 ingest executor 에 넘기고 기다리지 않는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayLostItem() {
+        ingestExecutor.execute(() -> {
+            log.info("##### replayLostItem Start #####");
+            schedulerService.replayLostItem();
+            log.info("##### replayLostItem End #####");
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindexLostItemGram() {
+        ingestExecutor.execute(() -> {
+            log.info("##### reindexLostItemGram Start #####");
+            schedulerService.reindexLostItemGram();
+            log.info("##### reindexLostItemGram End #####");
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLostItem() {
+        ingestExecutor.execute(() -> {
+            log.info("##### backfillLostItem Start #####");
+            schedulerService.backfillLostItem();
+            log.info("##### backfillLostItem End #####");
+        });
+    }
+
+    // 신규 분실물은 적재 commit 이후 LostItemIngestedListener 에서 매칭하므로 여기서는 하루 1번 놓친 분실물만 다시 매칭
+    // event 매칭과 match ledger 를 동시에 쓰지 않도록 매칭 executor 에서 실행하고 끝날 때까지 기다린다
+    @Scheduled(cron = "0 30 4 * * *")
     public void sendEmail(){
         log.info("##### sendEmail Start #####");
-        schedulerService.matchingItemSendEmail();
+        await(matchingExecutor.submit(schedulerService::matchingItemSendEmail));
         log.info("##### sendEmail End #####");
     }
+
+    // 자주 실행되므로 보낸 메일이 있을 때만 log
+    @Scheduled(fixedDelayString = "${publicData.lostItem.mail.fixedDelayMillis:10000}")
+    public void dispatchMail() {
+        int sent = mailDispatcher.dispatch();
+        if (sent > 0) {
+            log.info("##### dispatchMail sent={} #####", sent);
+        }
+    }
+
+    private void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (ExecutionException | CancellationException e) {
+            log.error("errorMessage", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("errorMessage", e);
+        }
+    }
 }
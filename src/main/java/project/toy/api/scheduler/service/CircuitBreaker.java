@@ -0,0 +1,58 @@
+package project.toy.api.scheduler.service;
+
+/**
+ * 연속 실패가 failureThreshold 에 도달하면 openMillis 동안 호출을 차단(OPEN)하고,
+ * 이후 1건만 시험 호출(HALF_OPEN)해서 성공하면 다시 CLOSED 로 돌아간다.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    public synchronized void success() {
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    public synchronized void failure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 호출이 api 와 무관한 이유 (row 처리 실패, interrupt 등) 로 끝난 경우. 연속 실패 수는 그대로 두고,
+     * HALF_OPEN 시험 호출이었으면 다음 호출이 바로 다시 시험하도록 OPEN 으로 되돌린다.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis() - openMillis;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
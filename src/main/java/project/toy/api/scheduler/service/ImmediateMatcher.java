@@ -0,0 +1,95 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.toy.api.domain.MemberLostItem;
+import project.toy.api.repository.LostItemRepository;
+import project.toy.api.scheduler.vo.MemberLostItemQueryVO;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 회원 분실물 등록/수정 요청 안에서 바로 매칭한다.
+ * bi-gram 색인으로 후보를 candidateLimit 건만 조회해 MatchScorer 로 점수를 계산하고, budgetMillis 안에 끝나지 않으면 포기한다.
+ * 포기한 경우 (Optional.empty) 호출하는 쪽에서 commit 이후 SchedulerService.rematchMemberLostItem 으로 다시 매칭한다.
+ * 포기한 작업은 interrupt 하지 않고 (JDBC 조회 중 interrupt 되면 connection 이 망가질 수 있음) 끝까지 실행한 뒤 결과만 버린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImmediateMatcher {
+
+    private final LostItemRepository lostItemRepository;
+    private final MatchScorer matchScorer;
+    private final MatchingMetrics matchingMetrics;
+
+    @Value("${publicData.lostItem.matching.immediate.budgetMillis:50}")
+    private long budgetMillis;
+
+    @Value("${publicData.lostItem.matching.immediate.candidateLimit:200}")
+    private int candidateLimit;
+
+    @Value("${publicData.lostItem.matching.immediate.poolSize:4}")
+    private int poolSize;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        // 대기열이 차면 기다리지 않고 바로 포기 (대기 시간도 budget 에 포함되므로)
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(poolSize * 4));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return 점수 높은 순 매칭 결과, budget 을 넘기면 Optional.empty
+     */
+    public Optional<List<MatchScorer.Scored>> match(MemberLostItem memberLostItem) {
+        long started = matchingMetrics.start();
+        MemberLostItemQueryVO query = MemberLostItemQueryVO.of(memberLostItem);
+
+        Future<List<MatchScorer.Scored>> future;
+        try {
+            future = executor.submit(() -> {
+                MatchScorer.TopK topK = matchScorer.topK();
+                topK.offerAll(query, lostItemRepository.findCandidates(memberLostItem, candidateLimit));
+                return topK.results(query);
+            });
+        } catch (RejectedExecutionException e) {
+            matchingMetrics.immediate(started, "rejected");
+            return Optional.empty();
+        }
+
+        try {
+            List<MatchScorer.Scored> results = future.get(budgetMillis, TimeUnit.MILLISECONDS);
+            matchingMetrics.immediate(started, "matched");
+            return Optional.of(results);
+        } catch (TimeoutException e) {
+            matchingMetrics.immediate(started, "timeout");
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            log.error("errorMessage", e.getCause());
+            matchingMetrics.immediate(started, "failed");
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package project.toy.api.scheduler.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import project.toy.api.scheduler.vo.IngestResultVO;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 분실물 적재 단계별 metric. /actuator/metrics/lostitem.ingest.* 로 조회한다.
+ */
+@Component
+public class IngestMetrics {
+
+    public static final String INCREMENTAL = "incremental";
+    public static final String BACKFILL = "backfill";
+    public static final String REPLAY = "replay";
+
+    private final MeterRegistry registry;
+
+    private final Timer upstreamSuccess;
+    private final Timer upstreamFailure;
+    private final DistributionSummary upstreamBytes;
+    private final Counter rowsDecoded;
+    private final Counter rowsInserted;
+    private final Counter rowsUpdated;
+    private final Counter rowsSkipped;
+    private final Counter unitsFailed;
+    private final Timer persist;
+
+    private final Map<String, AtomicLong> lastSuccess = new HashMap<>();
+
+    public IngestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.upstreamSuccess = Timer.builder("lostitem.ingest.upstream.latency").tag("outcome", "success").register(registry);
+        this.upstreamFailure = Timer.builder("lostitem.ingest.upstream.latency").tag("outcome", "failure").register(registry);
+        this.upstreamBytes = DistributionSummary.builder("lostitem.ingest.upstream.bytes").baseUnit("bytes").register(registry);
+        this.rowsDecoded = Counter.builder("lostitem.ingest.rows.decoded").register(registry);
+        this.rowsInserted = Counter.builder("lostitem.ingest.rows").tag("result", "inserted").register(registry);
+        this.rowsUpdated = Counter.builder("lostitem.ingest.rows").tag("result", "updated").register(registry);
+        this.rowsSkipped = Counter.builder("lostitem.ingest.rows").tag("result", "skipped").register(registry);
+        this.unitsFailed = Counter.builder("lostitem.ingest.units.failed").register(registry);
+        this.persist = Timer.builder("lostitem.ingest.persist").register(registry);
+
+        // 한 번도 성공하지 않은 작업도 0 으로 조회되어야 경보를 걸 수 있으므로 기동 시 모두 등록
+        for (String job : List.of(INCREMENTAL, BACKFILL, REPLAY)) {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("lostitem.ingest.last.success", value, AtomicLong::get)
+                    .tag("job", job)
+                    .baseUnit("seconds")
+                    .register(registry);
+            lastSuccess.put(job, value);
+        }
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    // api 호출 1회 (응답 decode 완료까지)
+    public void upstream(long startNanos, long bytes, boolean success) {
+        (success ? upstreamSuccess : upstreamFailure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        upstreamBytes.record(bytes);
+    }
+
+    public void decoded() {
+        rowsDecoded.increment();
+    }
+
+    public void unitFailed() {
+        unitsFailed.increment();
+    }
+
+    public void persisted(long startNanos, IngestResultVO result) {
+        persist.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        rowsInserted.increment(result.getInserted());
+        rowsUpdated.increment(result.getUpdated());
+        rowsSkipped.increment(result.getSkipped());
+    }
+
+    /**
+     * 적재 작업(incremental, backfill, replay) 1회 전체 소요시간. 성공 시 마지막 성공 시각(epoch seconds) gauge 를 갱신한다.
+     */
+    public void run(String job, long startNanos, boolean success) {
+        Timer.builder("lostitem.ingest.run")
+                .tag("job", job)
+                .tag("outcome", success ? "success" : "failure")
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+        if (success) {
+            lastSuccess.get(job).set(System.currentTimeMillis() / 1000);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.toy.api.exception.PublicApiFail;
+import project.toy.api.scheduler.vo.LostItemRowVO;
+import project.toy.api.scheduler.vo.LostItemVO;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LostItemApiClient {
+
+    public static final int MAX_WINDOW_SIZE = 1000;     // api 1회 호출 최대 건수
+
+    private final LostItemDecoder lostItemDecoder;
+    private final LostItemArchive lostItemArchive;
+    private final IngestMetrics ingestMetrics;
+
+    @Value("${publicData.lostItem.baseUrl}")
+    private String baseUrl;
+
+    @Value("${publicData.lostItem.connectTimeoutMillis:3000}")
+    private long connectTimeoutMillis;
+
+    @Value("${publicData.lostItem.readTimeoutMillis:10000}")
+    private long readTimeoutMillis;
+
+    @Value("${publicData.lostItem.bodyTimeoutMillis:60000}")
+    private long bodyTimeoutMillis;
+
+    @Value("${publicData.lostItem.maxRetries:3}")
+    private int maxRetries;
+
+    @Value("${publicData.lostItem.retryBackoffMillis:500}")
+    private long retryBackoffMillis;
+
+    @Value("${publicData.lostItem.circuitBreaker.failureThreshold:5}")
+    private int failureThreshold;
+
+    @Value("${publicData.lostItem.circuitBreaker.openMillis:300000}")
+    private long openMillis;
+
+    private HttpClient httpClient;          // connection pool 을 공유하기 위해 1개만 생성
+    private CircuitBreaker circuitBreaker;
+    private ScheduledExecutorService deadlines;     // body 읽기 제한 시간 timer
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+        deadlines = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lost-item-api-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        deadlines.shutdownNow();
+    }
+
+    // 건수만 확인하는 호출이므로 응답을 보관하지 않는다
+    public int listTotalCount() {
+        return Integer.parseInt(call(1, 1, row -> {}, false).getList_total_count());
+    }
+
+    /**
+     * [startIndex, endIndex] 구간을 조회해 row 는 rowConsumer 로 한 건씩 넘기고 header 만 반환한다.
+     * 실패 시 maxRetries 만큼 jitter 가 섞인 지수 backoff 로 재시도하고, 연속 실패가 쌓이면 circuit 을 열어 바로 실패시킨다.
+     * 재시도 중 일부 row 가 다시 넘어갈 수 있으나 저장은 id 기준 upsert 이므로 결과는 같다.
+     * rowConsumer 에서 난 예외는 재시도하지 않고 그대로 던지며 circuit 실패로 세지 않는다.
+     */
+    public LostItemVO call(int startIndex, int endIndex, Consumer<LostItemRowVO> rowConsumer) {
+        return call(startIndex, endIndex, rowConsumer, true);
+    }
+
+    private LostItemVO call(int startIndex, int endIndex, Consumer<LostItemRowVO> rowConsumer, boolean archive) {
+        if (!circuitBreaker.allowRequest()) {
+            throw new PublicApiFail("공공데이터 api 가 응답하지 않아 호출을 차단했습니다.");
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + startIndex + "/" + endIndex))
+                .timeout(Duration.ofMillis(readTimeoutMillis))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+
+        // 통신/응답 오류만 실패로 센다. 그 밖의 예외로 끝나도 release 로 결과를 남겨야 HALF_OPEN 시험 호출 이후 circuit 이 멈춰 있지 않는다.
+        boolean succeeded = false;
+        boolean upstreamFailed = false;
+        Consumer<LostItemRowVO> consumer = row -> {
+            try {
+                rowConsumer.accept(row);
+            } catch (RuntimeException e) {
+                throw new RowConsumerException(e);
+            }
+        };
+        try {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    LostItemVO lostItemVO = send(request, startIndex, endIndex, consumer, archive);
+                    succeeded = true;
+                    return lostItemVO;
+                } catch (IOException e) {
+                    if (attempt >= maxRetries) {
+                        upstreamFailed = true;
+                        throw new PublicApiFail(e);
+                    }
+                    log.warn("lost item api retry. url={}, attempt={}, error={}", request.uri(), attempt + 1, e.getMessage());
+                    sleep(backoff(attempt));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PublicApiFail(e);
+                }
+            }
+        } catch (RowConsumerException e) {
+            throw e.original;
+        } finally {
+            if (succeeded) {
+                circuitBreaker.success();
+            } else if (upstreamFailed) {
+                circuitBreaker.failure();
+            } else {
+                circuitBreaker.release();
+            }
+        }
+    }
+
+    private LostItemVO send(HttpRequest request, int startIndex, int endIndex, Consumer<LostItemRowVO> rowConsumer, boolean archive) throws IOException, InterruptedException {
+        long started = ingestMetrics.start();
+        CountingInputStream counting = null;
+        ScheduledFuture<?> deadline = null;
+        boolean success = false;
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            counting = new CountingInputStream(response.body());
+            // request timeout 은 응답 header 까지만 적용되므로 body 를 다 읽을 때까지의 시간은 따로 제한
+            CountingInputStream stream = counting;
+            deadline = deadlines.schedule(stream::expire, bodyTimeoutMillis, TimeUnit.MILLISECONDS);
+
+            if (response.statusCode() != 200) {
+                counting.close();
+                throw new IOException("lost item api status " + response.statusCode());
+            }
+
+            InputStream decoded = body(response, counting);
+            try (LostItemArchive.ArchivingInputStream body = archive
+                    ? lostItemArchive.record(decoded, startIndex, endIndex)
+                    : LostItemArchive.passThrough(decoded);
+                 BufferedReader br = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                LostItemVO lostItemVO = lostItemDecoder.decode(br, rowConsumer);
+                body.commit();
+                success = true;
+                return lostItemVO;
+            }
+        } finally {
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+            ingestMetrics.upstream(started, counting == null ? 0 : counting.count, success);
+        }
+    }
+
+    private InputStream body(HttpResponse<InputStream> response, InputStream raw) throws IOException {
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map("gzip"::equalsIgnoreCase)
+                .orElse(false);
+        return gzip ? new GZIPInputStream(raw) : raw;
+    }
+
+    private long backoff(int attempt) {
+        long base = retryBackoffMillis * (1L << attempt);
+        return base + ThreadLocalRandom.current().nextLong(base + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PublicApiFail(e);
+        }
+    }
+
+    public static List<int[]> windows(int from, int to, int windowSize) {
+        int size = Math.min(windowSize, MAX_WINDOW_SIZE);
+        List<int[]> windows = new ArrayList<>();
+        for (int start = from; start <= to; start += size) {
+            windows.add(new int[]{start, Math.min(start + size - 1, to)});
+        }
+        return windows;
+    }
+
+    // rowConsumer 에서 난 예외를 api 오류와 구분해서 원래 예외로 다시 던지기 위한 포장
+    private static class RowConsumerException extends RuntimeException {
+
+        private final RuntimeException original;
+
+        RowConsumerException(RuntimeException original) {
+            super(original);
+            this.original = original;
+        }
+    }
+
+    // 수신한 byte 수 (gzip 해제 전). expire 되면 stream 을 닫아 멈춰 있는 read 를 풀고 이후 read 는 실패시킨다.
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+        private volatile boolean expired;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        void expire() {
+            expired = true;
+            try {
+                in.close();     // subscription 을 취소해 body 를 기다리던 read 가 반환된다
+            } catch (IOException e) {
+                log.warn("lost item api body close failed. message={}", e.getMessage());
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkExpired();
+            int b = super.read();
+            checkExpired();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkExpired();
+            int n = super.read(b, off, len);
+            checkExpired();
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        private void checkExpired() throws IOException {
+            if (expired) {
+                throw new IOException("lost item api body read timeout");
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package project.toy.api.scheduler.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * api 응답 원문을 page 단위로 gzip 파일에 보관한다. {dir}/yyyyMMdd/{수집시각}-{seq}-{start}-{end}.json.gz
+ * 파일은 다 읽은 뒤 rename 으로 한 번에 생성되고 이후 수정하지 않으므로, 파일명 순서가 곧 수집 순서다.
+ */
+@Slf4j
+@Component
+public class LostItemArchive {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+    private static final String SUFFIX = ".json.gz";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${publicData.lostItem.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${publicData.lostItem.archive.dir:./archive/lost-item}")
+    private String dir;
+
+    public Path getDir() {
+        return Paths.get(dir);
+    }
+
+    /**
+     * 읽은 byte 를 그대로 보관 파일에도 기록하는 stream. 다 읽은 뒤 commit() 해야 보관 파일이 생긴다.
+     */
+    public ArchivingInputStream record(InputStream body, int startIndex, int endIndex) throws IOException {
+        if (!enabled) {
+            return passThrough(body);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Path dayDir = getDir().resolve(now.format(DAY));
+        Files.createDirectories(dayDir);
+
+        String name = String.format("%s-%06d-%d-%d%s", now.format(TIME), sequence.incrementAndGet() % 1_000_000, startIndex, endIndex, SUFFIX);
+        Path target = dayDir.resolve(name);
+        Path temp = dayDir.resolve(name + ".tmp");
+        return new ArchivingInputStream(body, new GZIPOutputStream(Files.newOutputStream(temp)), temp, target);
+    }
+
+    /**
+     * 보관하지 않고 그대로 읽는 stream (건수 조회 등 재처리할 필요 없는 응답)
+     */
+    public static ArchivingInputStream passThrough(InputStream body) {
+        return new ArchivingInputStream(body, null, null, null);
+    }
+
+    /**
+     * 보관된 page 파일 목록 (수집 순서)
+     */
+    public List<Path> pages(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths
+                    .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public static class ArchivingInputStream extends FilterInputStream {
+
+        private final OutputStream archive;
+        private final Path temp;
+        private final Path target;
+        private boolean committed;
+
+        private ArchivingInputStream(InputStream in, OutputStream archive, Path temp, Path target) {
+            super(in);
+            this.archive = archive;
+            this.temp = temp;
+            this.target = target;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1 && archive != null) {
+                archive.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0 && archive != null) {
+                archive.write(b, off, n);
+            }
+            return n;
+        }
+
+        public void commit() throws IOException {
+            if (archive == null || committed) {
+                return;
+            }
+            // decoder 가 끝까지 읽지 않은 나머지도 보관
+            byte[] buffer = new byte[8192];
+            while (read(buffer, 0, buffer.length) != -1) {
+                // drain
+            }
+            archive.close();
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (archive != null && !committed) {
+                    archive.close();
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import project.toy.api.domain.JobCheckpoint;
+import project.toy.api.repository.JobCheckpointRepository;
+import project.toy.api.scheduler.vo.IngestResultVO;
+
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * [1, list_total_count] 전체를 windowSize 단위로 나누어 LostItemIngestPipeline 으로 병렬 적재한다.
+ * 1부터 연속으로 완료된 구간까지만 checkpoint 에 기록하므로 중간에 중단되면 그 다음 window 부터 재개한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LostItemBackfill {
+
+    private final LostItemApiClient lostItemApiClient;
+    private final LostItemIngestPipeline lostItemIngestPipeline;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final IngestMetrics ingestMetrics;
+
+    @Value("${publicData.lostItem.backfill.enabled:false}")
+    private boolean enabled;
+
+    @Value("${publicData.lostItem.backfill.windowSize:1000}")
+    private int windowSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void backfill() {
+        long started = ingestMetrics.start();
+        boolean success = false;
+        try {
+            success = run();
+        } finally {
+            ingestMetrics.run(IngestMetrics.BACKFILL, started, success);
+        }
+    }
+
+    private boolean run() {
+        int listTotalCount = lostItemApiClient.listTotalCount();
+
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(JobCheckpoint.BACKFILL)
+                .orElseGet(() -> new JobCheckpoint(JobCheckpoint.BACKFILL));
+        checkpoint.extendTarget(listTotalCount);
+        checkpoint = jobCheckpointRepository.save(checkpoint);
+
+        if (checkpoint.isCompleted()) {
+            log.info("backfill already completed. completedIndex={}", checkpoint.getCompletedIndex());
+            return true;
+        }
+
+        List<int[]> windows = LostItemApiClient.windows(checkpoint.getCompletedIndex() + 1, checkpoint.getTargetIndex(), windowSize);
+        log.info("backfill start. from={}, to={}, windows={}", checkpoint.getCompletedIndex() + 1, checkpoint.getTargetIndex(), windows.size());
+
+        // 완료 순서가 뒤섞이므로 1부터 연속 구간이 이어질 때만 checkpoint 를 전진시킨다.
+        TreeMap<Integer, Integer> completed = new TreeMap<>();
+        JobCheckpoint progress = checkpoint;
+        IngestResultVO result = lostItemIngestPipeline.run(windows,
+                (window, rowConsumer) -> lostItemApiClient.call(window[0], window[1], rowConsumer),
+                window -> {
+                    synchronized (completed) {
+                        completed.put(window[0], window[1]);
+                        int completedIndex = progress.getCompletedIndex();
+                        while (completed.containsKey(completedIndex + 1)) {
+                            completedIndex = completed.remove(completedIndex + 1);
+                        }
+                        if (completedIndex > progress.getCompletedIndex()) {
+                            progress.complete(completedIndex);
+                            jobCheckpointRepository.save(progress);
+                        }
+                    }
+                });
+        log.info("backfill end. completedIndex={}, result={}", progress.getCompletedIndex(), result);
+        return result.getFailed() == 0;
+    }
+}
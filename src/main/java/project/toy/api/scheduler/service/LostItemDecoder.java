@@ -0,0 +1,106 @@
+package project.toy.api.scheduler.service;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.springframework.stereotype.Component;
+import project.toy.api.scheduler.vo.LostItemRowVO;
+import project.toy.api.scheduler.vo.LostItemVO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * 응답 전체를 메모리에 올리지 않고 lostArticleInfo.row[] 를 한 건씩 읽어 rowConsumer 로 넘긴다.
+ */
+@Component
+public class LostItemDecoder {
+
+    public LostItemVO decode(Reader in, Consumer<LostItemRowVO> rowConsumer) throws IOException {
+        LostItemVO header = new LostItemVO();
+
+        JsonReader reader = new JsonReader(in);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("lostArticleInfo".equals(name)) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    readField(reader, reader.nextName(), header, rowConsumer);
+                }
+                reader.endObject();
+            } else {
+                readField(reader, name, header, rowConsumer);
+            }
+        }
+        reader.endObject();
+
+        return header;
+    }
+
+    private void readField(JsonReader reader, String name, LostItemVO header, Consumer<LostItemRowVO> rowConsumer) throws IOException {
+        switch (name) {
+            case "list_total_count":
+                header.setList_total_count(nextString(reader));
+                break;
+            case "RESULT":
+                header.setRESULT(readResult(reader));
+                break;
+            case "row":
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    rowConsumer.accept(readRow(reader));
+                }
+                reader.endArray();
+                break;
+            default:
+                reader.skipValue();
+        }
+    }
+
+    private LostItemVO.RESULT readResult(JsonReader reader) throws IOException {
+        LostItemVO.RESULT result = new LostItemVO.RESULT();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("CODE".equals(name)) {
+                result.setCODE(nextString(reader));
+            } else if ("MESSAGE".equals(name)) {
+                result.setMESSAGE(nextString(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return result;
+    }
+
+    private LostItemRowVO readRow(JsonReader reader) throws IOException {
+        LostItemRowVO.LostItemRowVOBuilder row = LostItemRowVO.builder();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "ID": row.id(nextString(reader)); break;
+                case "STATUS": row.status(nextString(reader)); break;
+                case "CATE": row.category(nextString(reader)); break;
+                case "GET_NAME": row.itemName(nextString(reader)); break;
+                case "GET_THING": row.itemDetailInfo(nextString(reader)); break;
+                case "TAKE_PLACE": row.takePlace(nextString(reader)); break;
+                case "GET_POSITION": row.takePosition(nextString(reader)); break;
+                case "REG_DATE": row.regDate(nextString(reader)); break;
+                case "GET_DATE": row.getDate(nextString(reader)); break;
+                default: reader.skipValue();    // TAKE_ID, GET_AREA, GET_GOOD, READ_CNT 는 사용하지 않음
+            }
+        }
+        reader.endObject();
+        return row.build();
+    }
+
+    private String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+}
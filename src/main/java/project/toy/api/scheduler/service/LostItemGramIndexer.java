@@ -0,0 +1,56 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import project.toy.api.domain.JobCheckpoint;
+import project.toy.api.repository.JobCheckpointRepository;
+
+/**
+ * 저장된 분실물 전체의 bi-gram 색인을 만든다. 수집 중에는 LostItemWriter 가 신규/변경분만 색인한다.
+ * 색인 도입 전 데이터가 남아 있으므로 GRAM_INDEX checkpoint 가 완료될 때까지는 (중단되면 이어서) 기동 시마다 실행하고,
+ * 완료 이후에는 rebuild 설정이 켜진 경우에만 처음부터 다시 만든다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LostItemGramIndexer {
+
+    private final LostItemWriter lostItemWriter;
+    private final JobCheckpointRepository jobCheckpointRepository;
+
+    @Value("${publicData.lostItem.gramIndex.rebuild:false}")
+    private boolean rebuild;
+
+    @Value("${publicData.lostItem.batchSize:500}")
+    private int batchSize;
+
+    public void reindex() {
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(JobCheckpoint.GRAM_INDEX)
+                .orElseGet(() -> {
+                    JobCheckpoint created = new JobCheckpoint(JobCheckpoint.GRAM_INDEX);
+                    created.extendTarget(1);
+                    return created;
+                });
+        boolean building = !checkpoint.isCompleted();
+        if (!building && !rebuild) {
+            return;
+        }
+
+        // 완료된 색인을 다시 만드는 동안에는 batch 단위로 교체되므로 진행 위치를 남기지 않는다
+        String lastId = building ? checkpoint.getLastLostItemId() : null;
+        String next;
+        while ((next = lostItemWriter.reindexGrams(lastId, batchSize)) != null) {
+            lastId = next;
+            if (building) {
+                checkpoint.indexedUntil(lastId);
+                checkpoint = jobCheckpointRepository.save(checkpoint);
+            }
+        }
+
+        checkpoint.complete(1);
+        jobCheckpointRepository.save(checkpoint);
+        log.info("lost item gram reindex end. lastLostItemId={}", lastId);
+    }
+}
@@ -0,0 +1,297 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.toy.api.domain.LostItem;
+import project.toy.api.scheduler.vo.IngestResultVO;
+import project.toy.api.scheduler.vo.LostItemRowVO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 분실물 적재 pipeline. fetch/decode → normalize → persist 단계를 bounded queue 로 연결한다.
+ * <pre>
+ *   fetch(fetchThreads)  : api 호출 + 스트리밍 decode. socket 에서 읽는 대로 row 를 넘기므로 두 단계를 한 worker 가 처리
+ *   normalize(normalizeThreads) : enum 매핑, fingerprint 계산
+ *   persist(persistThreads)     : batchSize 단위 LostItemWriter.saveAll
+ * </pre>
+ * queue 가 가득 차면 put 에서 대기하므로 DB 가 느리면 앞 단계가 차례로 멈춘다(backpressure).
+ * 같은 id 는 항상 같은 normalize/persist worker 로 보내므로 id 별 순서가 유지되고 동시 insert 충돌이 없다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LostItemIngestPipeline {
+
+    private final LostItemWriter lostItemWriter;
+    private final IngestMetrics ingestMetrics;
+
+    @Value("${publicData.lostItem.pipeline.fetchThreads:4}")
+    private int fetchThreads;
+
+    @Value("${publicData.lostItem.pipeline.normalizeThreads:2}")
+    private int normalizeThreads;
+
+    @Value("${publicData.lostItem.pipeline.persistThreads:2}")
+    private int persistThreads;
+
+    @Value("${publicData.lostItem.pipeline.queueCapacity:2000}")
+    private int queueCapacity;
+
+    @Value("${publicData.lostItem.batchSize:500}")
+    private int batchSize;
+
+    /**
+     * 수집 단위(api window, 보관 page 등)에서 row 를 읽어 rowConsumer 로 넘긴다.
+     */
+    public interface Source<W> {
+        void read(W unit, Consumer<LostItemRowVO> rowConsumer) throws Exception;
+    }
+
+    public <W> IngestResultVO run(List<W> units, Source<W> source, Consumer<W> onUnitComplete) {
+        return run(units, fetchThreads, source, onUnitComplete);
+    }
+
+    /**
+     * @param onUnitComplete 수집 단위의 모든 row 가 저장되었을 때 호출 (persist thread 에서 호출됨)
+     */
+    public <W> IngestResultVO run(List<W> units, int fetchThreads, Source<W> source, Consumer<W> onUnitComplete) {
+        return new Run<>(units, fetchThreads, source, onUnitComplete).execute();
+    }
+
+    private class Run<W> {
+
+        private final Queue<W> units;
+        private final int fetchThreads;
+        private final Source<W> source;
+        private final Consumer<W> onUnitComplete;
+
+        private final List<BlockingQueue<Envelope<LostItemRowVO>>> rowQueues = new ArrayList<>();
+        private final List<BlockingQueue<Envelope<LostItem>>> itemQueues = new ArrayList<>();
+        private final IngestResultVO result = new IngestResultVO();
+        private final ExecutorService executor;
+        private volatile boolean aborted;
+
+        Run(List<W> units, int fetchThreads, Source<W> source, Consumer<W> onUnitComplete) {
+            this.units = new ConcurrentLinkedQueue<>(units);
+            this.fetchThreads = fetchThreads;
+            this.source = source;
+            this.onUnitComplete = onUnitComplete;
+            for (int i = 0; i < normalizeThreads; i++) {
+                rowQueues.add(new ArrayBlockingQueue<>(queueCapacity));
+            }
+            for (int i = 0; i < persistThreads; i++) {
+                itemQueues.add(new ArrayBlockingQueue<>(queueCapacity));
+            }
+            this.executor = Executors.newFixedThreadPool(fetchThreads + normalizeThreads + persistThreads);
+        }
+
+        IngestResultVO execute() {
+            try {
+                List<Future<?>> fetchers = submit(fetchThreads, i -> fetch());
+                List<Future<?>> normalizers = submit(normalizeThreads, i -> normalize(rowQueues.get(i)));
+                List<Future<?>> persisters = submit(persistThreads, i -> persist(itemQueues.get(i)));
+
+                await(fetchers);
+                for (BlockingQueue<Envelope<LostItemRowVO>> queue : rowQueues) {
+                    offer(queue, end());
+                }
+                await(normalizers);
+                for (BlockingQueue<Envelope<LostItem>> queue : itemQueues) {
+                    offer(queue, end());
+                }
+                await(persisters);
+
+                return result;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        private void fetch() throws InterruptedException {
+            W unit;
+            while (!aborted && (unit = units.poll()) != null) {
+                Progress progress = new Progress(unit);
+                try {
+                    source.read(unit, row -> {
+                        ingestMetrics.decoded();
+                        progress.add();
+                        put(rowQueues.get(route(row.getId(), normalizeThreads)), new Envelope<>(progress, row));
+                    });
+                } catch (CancellationException e) {
+                    throw e;
+                } catch (Exception e) {
+                    // 실패한 단위는 완료 처리하지 않고 나머지 단위는 계속 진행
+                    result.fail();
+                    ingestMetrics.unitFailed();
+                    log.error("ingest unit failed. unit={}", unit, e);
+                    continue;
+                }
+                progress.done();
+            }
+        }
+
+        private void normalize(BlockingQueue<Envelope<LostItemRowVO>> queue) throws InterruptedException {
+            while (true) {
+                Envelope<LostItemRowVO> envelope = queue.take();
+                if (envelope.isEnd()) {
+                    return;
+                }
+                LostItem item = LostItemWriter.normalize(envelope.item);
+                put(itemQueues.get(route(item.getId(), persistThreads)), new Envelope<>(envelope.progress, item));
+            }
+        }
+
+        private void persist(BlockingQueue<Envelope<LostItem>> queue) throws InterruptedException {
+            List<Envelope<LostItem>> batch = new ArrayList<>(batchSize);
+            boolean end = false;
+            while (!end) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+
+                List<LostItem> items = new ArrayList<>(batch.size());
+                for (Envelope<LostItem> envelope : batch) {
+                    if (envelope.isEnd()) {
+                        end = true;
+                    } else {
+                        items.add(envelope.item);
+                    }
+                }
+                if (!items.isEmpty()) {
+                    long started = ingestMetrics.start();
+                    IngestResultVO saved = lostItemWriter.saveAll(items);
+                    ingestMetrics.persisted(started, saved);
+                    result.add(saved);
+                }
+                for (Envelope<LostItem> envelope : batch) {
+                    if (!envelope.isEnd()) {
+                        envelope.progress.done();
+                    }
+                }
+                batch.clear();
+            }
+        }
+
+        private int route(String id, int workers) {
+            return Math.floorMod(id.hashCode(), workers);
+        }
+
+        private <T> void put(BlockingQueue<Envelope<T>> queue, Envelope<T> envelope) {
+            try {
+                queue.put(envelope);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("ingest pipeline aborted");
+            }
+        }
+
+        // 호출 thread 는 pool 밖에 있어 interrupt 되지 않으므로 중단 여부를 확인하며 넣는다.
+        private <T> void offer(BlockingQueue<Envelope<T>> queue, Envelope<T> envelope) {
+            try {
+                while (!queue.offer(envelope, 100, TimeUnit.MILLISECONDS)) {
+                    if (aborted) {
+                        throw new CancellationException("ingest pipeline aborted");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abort();
+                throw new CancellationException("ingest pipeline interrupted");
+            }
+        }
+
+        private List<Future<?>> submit(int count, Worker worker) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    try {
+                        worker.run(index);
+                    } catch (Exception e) {
+                        abort();
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+            return futures;
+        }
+
+        private void await(List<Future<?>> futures) {
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("ingest pipeline failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abort();
+                throw new CancellationException("ingest pipeline interrupted");
+            }
+        }
+
+        private void abort() {
+            aborted = true;
+            executor.shutdownNow();
+        }
+
+        private class Progress {
+
+            private final W unit;
+            private final AtomicInteger remaining = new AtomicInteger(1);   // fetch 진행 중 표시 1 + 저장 대기 row 수
+
+            Progress(W unit) {
+                this.unit = unit;
+            }
+
+            void add() {
+                remaining.incrementAndGet();
+            }
+
+            void done() {
+                if (remaining.decrementAndGet() == 0) {
+                    onUnitComplete.accept(unit);
+                }
+            }
+        }
+
+        private class Envelope<T> {
+
+            private final Progress progress;
+            private final T item;
+
+            Envelope(Progress progress, T item) {
+                this.progress = progress;
+                this.item = item;
+            }
+
+            boolean isEnd() {
+                return progress == null;
+            }
+        }
+
+        private <T> Envelope<T> end() {
+            return new Envelope<>(null, null);
+        }
+    }
+
+    private interface Worker {
+        void run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,40 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.toy.api.config.async.AsyncConfig;
+import project.toy.api.scheduler.vo.LostItemIngestedEvent;
+
+/**
+ * 분실물 적재가 commit 되면 그 batch 의 신규/변경 분실물만 바로 매칭한다.
+ * 정각에 적재와 매칭이 함께 돌면서 매칭이 이전 시간 데이터로 실행되던 문제를 없애고, 신규 분실물을 적재 직후 알린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LostItemIngestedListener {
+
+    private final SchedulerService schedulerService;
+
+    @Value("${publicData.lostItem.matching.onIngest:true}")
+    private boolean enabled;
+
+    @Async(AsyncConfig.MATCHING_EXECUTOR)
+    @TransactionalEventListener
+    public void onIngested(LostItemIngestedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            schedulerService.matchLostItems(event.getLostItemIds());
+        } catch (Exception e) {
+            // 실패한 분실물은 하루 1번 도는 sendEmail 에서 다시 매칭
+            log.error("errorMessage", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.scheduler.vo.MemberLostItemQueryVO;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * 분실물을 LostCategory 별로 나누어 MemberLostItemIndex 후보 조회와 MatchScorer 점수 계산을 한다.
+ * 회원 분실물 조건도 종류별로 색인되어 있어 종류가 다른 분실물과는 매칭되지 않으므로 종류별 작업은 서로 독립적이다.
+ * parallelism 이 2 이상이면 종류별 작업을 ForkJoinPool 에서 동시에 실행하고, 1이면 호출 thread 에서 순서대로 실행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LostItemMatcher {
+
+    private final MemberLostItemIndex memberLostItemIndex;
+    private final MatchScorer matchScorer;
+
+    @Value("${publicData.lostItem.matching.parallelism:1}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void init() {
+        if (parallelism > 1) {
+            pool = new ForkJoinPool(parallelism);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    public Partitions partitions() {
+        return new Partitions();
+    }
+
+    /**
+     * 매칭 작업 1회 동안 종류별 TopK 를 유지한다. 한 종류의 TopK 는 한 번에 한 작업만 사용한다.
+     */
+    public class Partitions {
+
+        private final Map<LostCategory, MatchScorer.TopK> topKs = new EnumMap<>(LostCategory.class);
+
+        /**
+         * @param notified 분실물별로 이미 알림을 보낸 회원 분실물 ID
+         */
+        public void offer(List<LostItem> lostItems, Map<String, Set<Long>> notified) {
+            Map<LostCategory, List<LostItem>> byCategory = new EnumMap<>(LostCategory.class);
+            for (LostItem lostItem : lostItems) {
+                if (lostItem.getCategory() != null) {
+                    byCategory.computeIfAbsent(lostItem.getCategory(), category -> new ArrayList<>()).add(lostItem);
+                }
+            }
+
+            if (pool == null || byCategory.size() == 1) {
+                byCategory.forEach((category, items) -> score(topKOf(category), items, notified));
+                return;
+            }
+
+            // TopK 는 thread 에 안전하지 않으므로 작업을 나누기 전에 호출 thread 에서 만들어 둔다.
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (Map.Entry<LostCategory, List<LostItem>> entry : byCategory.entrySet()) {
+                MatchScorer.TopK topK = topKOf(entry.getKey());
+                tasks.add(() -> {
+                    score(topK, entry.getValue(), notified);
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> future : pool.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("lost item matching failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("lost item matching interrupted", e);
+            }
+        }
+
+        private MatchScorer.TopK topKOf(LostCategory category) {
+            return topKs.computeIfAbsent(category, key -> matchScorer.topK());
+        }
+
+        // 종류 순서로 합친 결과
+        public Collection<MatchScorer.TopK> topKs() {
+            return topKs.values();
+        }
+    }
+
+    private void score(MatchScorer.TopK topK, List<LostItem> lostItems, Map<String, Set<Long>> notified) {
+        for (LostItem lostItem : lostItems) {
+            Set<Long> notifiedIds = notified.getOrDefault(lostItem.getId(), Set.of());
+            for (MemberLostItemQueryVO query : memberLostItemIndex.candidates(lostItem)) {
+                if (!notifiedIds.contains(query.getMemberLostItemId())) {
+                    topK.offer(query, lostItem);
+                }
+            }
+        }
+    }
+}
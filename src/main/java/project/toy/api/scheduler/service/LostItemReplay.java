@@ -0,0 +1,64 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import project.toy.api.scheduler.vo.IngestResultVO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * LostItemArchive 에 보관된 page 를 수집 순서대로 api 수집과 같은 decode → 저장 경로로 다시 적재한다.
+ * normalize/persist 단계는 id 별로 worker 가 고정되어 있어 page 순서가 id 별로 유지된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LostItemReplay {
+
+    private final LostItemArchive lostItemArchive;
+    private final LostItemDecoder lostItemDecoder;
+    private final LostItemIngestPipeline lostItemIngestPipeline;
+    private final IngestMetrics ingestMetrics;
+
+    @Value("${publicData.lostItem.replay.enabled:false}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public IngestResultVO replay() throws IOException {
+        return replay(lostItemArchive.getDir());
+    }
+
+    public IngestResultVO replay(Path root) throws IOException {
+        long started = ingestMetrics.start();
+        boolean success = false;
+        try {
+            List<Path> pages = lostItemArchive.pages(root);
+            log.info("replay start. root={}, pages={}", root, pages.size());
+
+            // 같은 분실물은 나중 page 의 값이 남아야 하므로 page 읽기는 1개 thread 로 순서대로 진행
+            IngestResultVO result = lostItemIngestPipeline.run(pages, 1, (page, rowConsumer) -> {
+                try (BufferedReader br = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(page)), StandardCharsets.UTF_8))) {
+                    lostItemDecoder.decode(br, rowConsumer);
+                }
+            }, page -> {});
+
+            log.info("replay end. pages={}, result={}", pages.size(), result);
+            success = result.getFailed() == 0;
+            return result;
+        } finally {
+            ingestMetrics.run(IngestMetrics.REPLAY, started, success);
+        }
+    }
+}
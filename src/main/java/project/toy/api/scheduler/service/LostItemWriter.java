@@ -0,0 +1,167 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.LostItemGram;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.repository.LostItemGramRepository;
+import project.toy.api.repository.LostItemRepository;
+import project.toy.api.scheduler.vo.IngestResultVO;
+import project.toy.api.scheduler.vo.LostItemIngestedEvent;
+import project.toy.api.scheduler.vo.LostItemRowVO;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class LostItemWriter {
+
+    private final LostItemRepository lostItemRepository;
+    private final LostItemGramRepository lostItemGramRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * api row 를 저장할 LostItem 으로 변환 (enum 매핑, fingerprint 계산)
+     */
+    public static LostItem normalize(LostItemRowVO apiData) {
+        LostItem lostItem = LostItem.builder()
+                .id(apiData.getId())
+                .status(LostStatus.getKey(apiData.getStatus()))
+                .category(LostCategory.getKey(apiData.getCategory()))
+                .itemName(apiData.getItemName())
+                .itemDetailInfo(apiData.getItemDetailInfo())
+                .takePlace(apiData.getTakePlace())
+                .takePosition(apiData.getTakePosition())
+                .regDate(apiData.getRegDate())
+                .getDate(apiData.getGetDate())
+                .build();
+        lostItem.setFingerprint(apiData.fingerprint());
+        return lostItem;
+    }
+
+    public IngestResultVO save(List<LostItemRowVO> rows) {
+        return saveAll(rows.stream()
+                .map(LostItemWriter::normalize)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 기존 분실물의 fingerprint 를 IN 쿼리 1회로 조회해 값이 같은 row 는 건너뛰고,
+     * 신규는 merge(select) 없이 persist, 변경분만 다시 IN 쿼리로 읽어 update 한다.
+     * insert/update 는 hibernate.jdbc.batch_size 단위로 batch 실행된다.
+     */
+    public IngestResultVO saveAll(List<LostItem> items) {
+        List<String> ids = items.stream()
+                .map(LostItem::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, String> fingerprints = lostItemRepository.findFingerprints(ids);
+
+        int inserted = 0;
+        int skipped = 0;
+        Map<String, LostItem> insertedItems = new LinkedHashMap<>();
+        Map<String, LostItem> changedItems = new LinkedHashMap<>();
+        for (LostItem item : items) {
+            if (!fingerprints.containsKey(item.getId())) {
+                em.persist(item);
+                insertedItems.put(item.getId(), item);
+                inserted++;
+            } else if (item.getFingerprint().equals(fingerprints.get(item.getId()))) {
+                skipped++;
+                continue;
+            } else {
+                changedItems.put(item.getId(), item);
+            }
+            fingerprints.put(item.getId(), item.getFingerprint());
+        }
+
+        if (!changedItems.isEmpty()) {
+            Map<String, LostItem> lostItems = lostItemRepository.findAllById(changedItems.keySet()).stream()
+                    .collect(Collectors.toMap(LostItem::getId, Function.identity()));
+            changedItems.forEach((id, item) -> apply(lostItems.get(id), item));
+        }
+        // 같은 호출 안에서 신규 저장 후 다시 변경된 분실물은 변경분으로만 색인
+        insertedItems.keySet().removeAll(changedItems.keySet());
+        indexGrams(insertedItems.values(), changedItems.values());
+
+        // 호출 단위로 영속성 컨텍스트를 비워 batch 가 누적되어도 메모리가 늘지 않게 한다.
+        em.flush();
+        em.clear();
+
+        // 신규/변경 분실물은 이 트랜잭션이 commit 된 이후 LostItemIngestedListener 에서 매칭
+        if (!insertedItems.isEmpty() || !changedItems.isEmpty()) {
+            List<String> lostItemIds = new ArrayList<>(insertedItems.keySet());
+            lostItemIds.addAll(changedItems.keySet());
+            eventPublisher.publishEvent(new LostItemIngestedEvent(lostItemIds));
+        }
+
+        return new IngestResultVO(inserted, changedItems.size(), skipped);
+    }
+
+    /**
+     * 이미 저장된 분실물의 bi-gram 을 처음부터 다시 만든다. 색인 도입 전 데이터 또는 색인 규칙 변경 시 사용.
+     * @return 마지막으로 처리한 분실물 SEQ, 더 없으면 null
+     */
+    public String reindexGrams(String afterId, int limit) {
+        List<LostItem> lostItems = lostItemRepository.findAfter(afterId, limit);
+        if (lostItems.isEmpty()) {
+            return null;
+        }
+        indexGrams(List.of(), lostItems);
+        em.flush();
+        em.clear();
+        return lostItems.get(lostItems.size() - 1).getId();
+    }
+
+    // 변경된 분실물은 기존 조각을 지우고 다시 저장
+    private void indexGrams(Collection<LostItem> insertedItems, Collection<LostItem> changedItems) {
+        if (!changedItems.isEmpty()) {
+            lostItemGramRepository.deleteByLostItemIds(changedItems.stream()
+                    .map(LostItem::getId)
+                    .collect(Collectors.toList()));
+        }
+        for (LostItem item : insertedItems) {
+            persistGrams(item);
+        }
+        for (LostItem item : changedItems) {
+            persistGrams(item);
+        }
+    }
+
+    private void persistGrams(LostItem item) {
+        for (String gram : LostItemGram.grams(item.getItemName())) {
+            em.persist(new LostItemGram(item.getId(), LostItemGram.ITEM_NAME, gram));
+        }
+        for (String gram : LostItemGram.grams(item.getItemDetailInfo())) {
+            em.persist(new LostItemGram(item.getId(), LostItemGram.ITEM_DETAIL_INFO, gram));
+        }
+    }
+
+    private void apply(LostItem lostItem, LostItem source) {
+        lostItem.setStatus(source.getStatus());
+        lostItem.setCategory(source.getCategory());
+        lostItem.setItemName(source.getItemName());
+        lostItem.setItemDetailInfo(source.getItemDetailInfo());
+        lostItem.setTakePlace(source.getTakePlace());
+        lostItem.setTakePosition(source.getTakePosition());
+        lostItem.setRegDate(source.getRegDate());
+        lostItem.setGetDate(source.getGetDate());
+        lostItem.setFingerprint(source.getFingerprint());
+    }
+}
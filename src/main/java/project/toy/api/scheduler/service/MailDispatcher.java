@@ -0,0 +1,185 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.toy.api.domain.MailOutbox;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * 메일 outbox 의 대기 메일을 poolSize 개 worker 가 나누어 발송한다.
+ * worker 는 MailRateLimiter 에서 받은 token 수만큼 대기열에서 꺼내 SendMail.sendBatch 로 SMTP 연결 1번에 보낸다.
+ * 발송 중에는 트랜잭션을 잡지 않고, batch 발송이 끝난 뒤 결과만 MailOutboxService 에서 한 번에 반영한다.
+ * Scheduler 에서 fixedDelay 로 호출하므로 이전 호출이 끝나기 전에 다시 실행되지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MailDispatcher {
+
+    private final MailOutboxService mailOutboxService;
+    private final SendMail sendMail;
+    private final MailRateLimiter mailRateLimiter;
+    private final MailMetrics mailMetrics;
+
+    @Value("${publicData.lostItem.mail.poolSize:4}")
+    private int poolSize;
+
+    @Value("${publicData.lostItem.mail.batchSize:100}")
+    private int batchSize;
+
+    private ExecutorService pool;
+
+    @PostConstruct
+    public void init() {
+        pool = Executors.newFixedThreadPool(poolSize);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @return 발송한 메일 수
+     */
+    public int dispatch() {
+        mailMetrics.pending(mailOutboxService.countPending());
+        int sent = 0;
+        List<MailOutbox> outboxes;
+        do {
+            if (mailRateLimiter.remainingToday() == 0) {
+                log.warn("mail daily quota exhausted. pending={}", mailOutboxService.countPending());
+                break;
+            }
+            outboxes = mailOutboxService.findDispatchable(batchSize);
+            if (outboxes.isEmpty()) {
+                break;
+            }
+            Dispatch dispatch = new Dispatch(outboxes);
+            sent += dispatch.run();
+            if (!dispatch.queue.isEmpty()) {
+                break;      // 일일 한도로 보내지 못한 메일은 다음 날 발송
+            }
+        } while (outboxes.size() == batchSize);
+        mailMetrics.pending(mailOutboxService.countPending());
+        return sent;
+    }
+
+    /**
+     * outbox batch 1회 발송. worker 들이 같은 대기열에서 꺼내 보내고 결과를 모은다.
+     */
+    private class Dispatch {
+
+        private final BlockingQueue<MailOutbox> queue;
+        private final List<Long> sentIds = Collections.synchronizedList(new ArrayList<>());
+        private final Map<Long, String> failures = new ConcurrentHashMap<>();
+        private final Map<Long, String> throttled = new ConcurrentHashMap<>();
+
+        Dispatch(List<MailOutbox> outboxes) {
+            this.queue = new LinkedBlockingQueue<>(outboxes);
+        }
+
+        int run() {
+            mailMetrics.queued(queue.size());
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < poolSize; i++) {
+                workers.add(() -> {
+                    work();
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> future : pool.invokeAll(workers)) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                log.error("errorMessage", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            mailMetrics.queued(0);
+
+            mailOutboxService.complete(sentIds, failures, throttled);
+            return sentIds.size();
+        }
+
+        private void work() throws InterruptedException {
+            while (!queue.isEmpty()) {
+                int permits = mailRateLimiter.acquire(queue.size());
+                if (permits == 0) {
+                    return;     // 일일 한도
+                }
+                List<MailOutbox> chunk = new ArrayList<>();
+                queue.drainTo(chunk, permits);
+                mailMetrics.queued(queue.size());
+                if (chunk.size() < permits) {
+                    mailRateLimiter.release(permits - chunk.size());    // 다른 worker 가 먼저 꺼내 간 만큼 반납
+                }
+                if (!chunk.isEmpty()) {
+                    send(chunk);
+                }
+            }
+        }
+
+        private void send(List<MailOutbox> chunk) {
+            long started = mailMetrics.start();
+            Map<Integer, Exception> chunkFailures;
+            try {
+                chunkFailures = sendMail.sendBatch(chunk.stream()
+                        .map(MailOutboxService::digest)
+                        .collect(Collectors.toList()));
+            } catch (RuntimeException e) {
+                chunkFailures = new HashMap<>();
+                for (int position = 0; position < chunk.size(); position++) {
+                    chunkFailures.put(position, e);
+                }
+            }
+
+            int throttles = 0;
+            for (int position = 0; position < chunk.size(); position++) {
+                Long id = chunk.get(position).getId();
+                Exception failure = chunkFailures.get(position);
+                if (failure == null) {
+                    sentIds.add(id);
+                    continue;
+                }
+                log.warn("mail send failed. mailOutboxId={}, message={}", id, failure.getMessage());
+                if (MailRateLimiter.isThrottled(failure)) {
+                    throttled.put(id, String.valueOf(failure.getMessage()));
+                    throttles++;
+                } else {
+                    failures.put(id, String.valueOf(failure.getMessage()));
+                }
+            }
+            mailMetrics.chunk(started, chunk.size(), chunkFailures.size(), throttles);
+
+            // 보내지 못한 메일의 token 반납 (일일 한도는 실제 발송한 메일만 센다)
+            if (!chunkFailures.isEmpty()) {
+                mailRateLimiter.release(chunkFailures.size());
+            }
+            if (throttles > 0) {
+                mailRateLimiter.throttled();
+            } else {
+                mailRateLimiter.succeeded(chunk.size() - chunkFailures.size());
+            }
+        }
+    }
+}
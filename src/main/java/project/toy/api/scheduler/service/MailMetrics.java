@@ -0,0 +1,73 @@
+package project.toy.api.scheduler.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메일 발송 metric. /actuator/metrics/lostitem.mail.* 로 조회한다.
+ */
+@Component
+public class MailMetrics {
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+
+    private final Timer send;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter throttled;
+
+    public MailMetrics(MeterRegistry registry, MailRateLimiter mailRateLimiter) {
+        Gauge.builder("lostitem.mail.outbox.pending", pending, AtomicLong::get)
+                .description("pending mails in outbox at the last dispatch")
+                .register(registry);
+        Gauge.builder("lostitem.mail.dispatch.queue", queued, AtomicLong::get)
+                .description("mails waiting for a sender worker in the current dispatch")
+                .register(registry);
+        Gauge.builder("lostitem.mail.rate", mailRateLimiter, MailRateLimiter::rate)
+                .description("permitted mails per second after throttling")
+                .register(registry);
+        Gauge.builder("lostitem.mail.quota.remaining", mailRateLimiter, MailRateLimiter::remainingToday)
+                .register(registry);
+        this.send = Timer.builder("lostitem.mail.send.latency")
+                .description("smtp send latency per mail")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.sent = Counter.builder("lostitem.mail.send").tag("result", "sent").register(registry);
+        this.failed = Counter.builder("lostitem.mail.send").tag("result", "failed").register(registry);
+        this.throttled = Counter.builder("lostitem.mail.send").tag("result", "throttled").register(registry);
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void pending(long count) {
+        pending.set(count);
+    }
+
+    public void queued(long count) {
+        queued.set(count);
+    }
+
+    /**
+     * chunk 1회 발송. 연결을 재사용하므로 소요시간을 메일 수로 나누어 메일별 latency 로 기록한다.
+     */
+    public void chunk(long startNanos, int mails, int failures, int throttles) {
+        if (mails > 0) {
+            long perMail = (System.nanoTime() - startNanos) / mails;
+            for (int i = 0; i < mails; i++) {
+                send.record(perMail, TimeUnit.NANOSECONDS);
+            }
+        }
+        sent.increment(mails - failures);
+        failed.increment(failures - throttles);
+        throttled.increment(throttles);
+    }
+}
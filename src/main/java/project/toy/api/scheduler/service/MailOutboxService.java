@@ -0,0 +1,92 @@
+package project.toy.api.scheduler.service;
+
+import com.google.gson.Gson;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.toy.api.domain.MailOutbox;
+import project.toy.api.domain.MailOutboxStatus;
+import project.toy.api.repository.MailOutboxRepository;
+import project.toy.api.scheduler.vo.MailDigestVO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메일 outbox 저장/상태 변경. 메일 발송 자체는 트랜잭션 밖 MailDispatcher 에서 한다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class MailOutboxService {
+
+    private static final DateTimeFormatter ATTEMPT_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss");
+    private static final Gson GSON = new Gson();
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    @Value("${publicData.lostItem.mail.maxAttempts:5}")
+    private int maxAttempts;
+
+    @Value("${publicData.lostItem.mail.backoffSeconds:60}")
+    private long backoffSeconds;
+
+    @Value("${publicData.lostItem.mail.maxBackoffSeconds:3600}")
+    private long maxBackoffSeconds;
+
+    /**
+     * 호출한 트랜잭션과 함께 commit 되어야 발송된다.
+     */
+    public void enqueue(MailDigestVO digest) {
+        mailOutboxRepository.save(new MailOutbox(digest.getEmail(), GSON.toJson(digest), now()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<MailOutbox> findDispatchable(int limit) {
+        return mailOutboxRepository.findDispatchable(now(), limit);
+    }
+
+    /**
+     * 발송 결과 반영. 실패한 메일은 backoffSeconds × 2^(시도 횟수 - 1) 뒤에 다시 보낸다.
+     * 제공자의 발송 제한 (연결/세션 단계 4xx) 으로 실패한 메일은 backoffSeconds 뒤에 다시 보내되, 계속 실패하면 DEAD 가 되도록 시도 횟수에 넣는다.
+     * @param failures 발송 실패한 outbox ID 와 실패 사유
+     * @param throttled 발송 제한으로 실패한 outbox ID 와 실패 사유
+     */
+    public void complete(List<Long> sentIds, Map<Long, String> failures, Map<Long, String> throttled) {
+        mailOutboxRepository.findAllById(sentIds).forEach(MailOutbox::sent);
+        mailOutboxRepository.findAllById(failures.keySet()).forEach(outbox ->
+                outbox.failed(failures.get(outbox.getId()), nextAttemptAt(outbox.getAttempts() + 1), maxAttempts));
+        mailOutboxRepository.findAllById(throttled.keySet()).forEach(outbox ->
+                outbox.failed(throttled.get(outbox.getId()), nextAttemptAt(1), maxAttempts));
+    }
+
+    // 오늘 발송 완료한 메일 수 (MailRateLimiter 일일 한도)
+    @Transactional(readOnly = true)
+    public int countSentToday() {
+        String today = LocalDate.now().atStartOfDay().format(ATTEMPT_AT_FORMAT);
+        return (int) mailOutboxRepository.countByStatusAndLastModifiedAtGreaterThanEqual(MailOutboxStatus.SENT, today);
+    }
+
+    // 발송 대기 메일 수 (발송 시각 전 재시도 대기 포함)
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return mailOutboxRepository.countByStatus(MailOutboxStatus.PENDING);
+    }
+
+    public static MailDigestVO digest(MailOutbox outbox) {
+        return GSON.fromJson(outbox.getPayload(), MailDigestVO.class);
+    }
+
+    private String nextAttemptAt(int attempts) {
+        long backoff = Math.min(maxBackoffSeconds, backoffSeconds << Math.min(attempts - 1, 20));
+        return LocalDateTime.now().plusSeconds(backoff).format(ATTEMPT_AT_FORMAT);
+    }
+
+    private String now() {
+        return LocalDateTime.now().format(ATTEMPT_AT_FORMAT);
+    }
+}
@@ -0,0 +1,190 @@
+package project.toy.api.scheduler.service;
+
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import com.sun.mail.smtp.SMTPSenderFailedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.mail.MessagingException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 메일 발송 token bucket. SMTP 제공자의 초당/일일 발송 한도를 넘지 않도록 MailDispatcher worker 가 발송 전에 token 을 받는다.
+ * <pre>
+ *   초당 한도: perSecond 개씩 채워지는 bucket (최대 perSecond 개)
+ *   일일 한도: dailyQuota 건을 넘으면 다음 날까지 token 을 주지 않음
+ *   연결/세션 단계 4xx (421 등) 응답: 발송 속도를 절반으로 줄이고 pauseSeconds 동안 멈춤, 이후 성공할 때마다 조금씩 원래 속도로 회복
+ *   보내지 못한 메일 (실패, 발송 제한) 의 token 은 반납해 일일 한도에서 빼지 않는다
+ * </pre>
+ */
+@Component
+public class MailRateLimiter {
+
+    private static final double MIN_RATE_RATIO = 0.1;
+    private static final double RECOVERY_PER_SECOND = 0.1;      // 초당 한도만큼 성공하면 속도 10% 회복
+    private static final Pattern REPLY_CODE = Pattern.compile("^(\\d{3})[ -]");
+
+    @Value("${publicData.lostItem.mail.ratePerSecond:10}")
+    private double perSecond;
+
+    @Value("${publicData.lostItem.mail.dailyQuota:2000}")
+    private int dailyQuota;
+
+    @Value("${publicData.lostItem.mail.throttlePauseSeconds:30}")
+    private long pauseSeconds;
+
+    private final IntSupplier sentTodaySupplier;
+
+    private double tokens;
+    private long refilledAt;            // 0 이면 아직 token 을 채운 적 없음 (가득 찬 상태로 시작)
+    private double rateRatio = 1;
+    private long pausedUntil;
+    private LocalDate day;
+    private int sentToday;
+
+    // 생성자가 2개이므로 spring 이 사용할 생성자를 지정
+    @Autowired
+    public MailRateLimiter(MailOutboxService mailOutboxService) {
+        this(mailOutboxService::countSentToday);
+    }
+
+    /**
+     * @param sentTodaySupplier 날짜가 바뀌거나 재시작한 뒤 오늘 이미 보낸 건수
+     */
+    MailRateLimiter(IntSupplier sentTodaySupplier) {
+        this.sentTodaySupplier = sentTodaySupplier;
+    }
+
+    // 한 번에 받을 수 있는 최대 token 수 (bucket 크기)
+    public int maxPermits() {
+        return (int) Math.max(1, perSecond);
+    }
+
+    /**
+     * token 이 채워질 때까지 기다렸다가 permits 개 (일일 한도가 남은 만큼) 를 받는다.
+     * @return 받은 token 수, 일일 한도를 다 썼으면 0
+     */
+    public int acquire(int permits) throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                rollDay();
+                int granted = Math.min(Math.min(permits, maxPermits()), dailyQuota - sentToday);
+                if (granted <= 0) {
+                    return 0;
+                }
+                long now = System.nanoTime();
+                refill(now);
+                if (now - pausedUntil < 0) {
+                    waitNanos = pausedUntil - now;
+                } else if (tokens >= granted) {
+                    tokens -= granted;
+                    sentToday += granted;
+                    return granted;
+                } else {
+                    waitNanos = (long) ((granted - tokens) / rate() * TimeUnit.SECONDS.toNanos(1));
+                }
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(1, waitNanos));
+        }
+    }
+
+    // 받았지만 보내지 않은 token 반납
+    public synchronized void release(int permits) {
+        tokens = Math.min(maxPermits(), tokens + permits);
+        sentToday = Math.max(0, sentToday - permits);
+    }
+
+    public synchronized void succeeded(int count) {
+        rateRatio = Math.min(1, rateRatio + RECOVERY_PER_SECOND * count / perSecond);
+    }
+
+    public synchronized void throttled() {
+        rateRatio = Math.max(MIN_RATE_RATIO, rateRatio / 2);
+        tokens = 0;
+        pausedUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(pauseSeconds);
+    }
+
+    // 현재 초당 발송 속도
+    public synchronized double rate() {
+        return perSecond * rateRatio;
+    }
+
+    public synchronized int remainingToday() {
+        rollDay();
+        return Math.max(0, dailyQuota - sentToday);
+    }
+
+    /**
+     * 연결/세션 단계의 SMTP 4xx 응답 (421 service not available, MAIL/DATA 의 451/452 등) 은 제공자의 발송 제한으로 본다.
+     * RCPT 단계의 수신자별 실패 (450 수신함 사용 중, 452 수신함 가득 참 등) 는 그 수신자만의 문제이므로 발송 제한이 아니다.
+     */
+    public static boolean isThrottled(Throwable failure) {
+        if (hasAddressFailure(failure)) {
+            return false;
+        }
+        int code = replyCode(failure);
+        return code >= 400 && code < 500;
+    }
+
+    private static boolean hasAddressFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = next(cause)) {
+            if (cause instanceof SMTPAddressFailedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int replyCode(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = next(cause)) {
+            if (cause instanceof SMTPSendFailedException) {
+                return ((SMTPSendFailedException) cause).getReturnCode();
+            }
+            if (cause instanceof SMTPAddressFailedException) {
+                return ((SMTPAddressFailedException) cause).getReturnCode();
+            }
+            if (cause instanceof SMTPSenderFailedException) {
+                return ((SMTPSenderFailedException) cause).getReturnCode();
+            }
+            if (cause.getMessage() != null) {
+                Matcher matcher = REPLY_CODE.matcher(cause.getMessage().trim());
+                if (matcher.find()) {
+                    return Integer.parseInt(matcher.group(1));
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static Throwable next(Throwable cause) {
+        if (cause instanceof MessagingException && ((MessagingException) cause).getNextException() != null) {
+            return ((MessagingException) cause).getNextException();
+        }
+        return cause.getCause() == cause ? null : cause.getCause();
+    }
+
+    private void refill(long now) {
+        if (refilledAt == 0) {
+            tokens = maxPermits();
+            refilledAt = now;
+            return;
+        }
+        tokens = Math.min(maxPermits(), tokens + (now - refilledAt) * rate() / TimeUnit.SECONDS.toNanos(1));
+        refilledAt = now;
+    }
+
+    private void rollDay() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(day)) {
+            day = today;
+            sentToday = sentTodaySupplier.getAsInt();
+        }
+    }
+}
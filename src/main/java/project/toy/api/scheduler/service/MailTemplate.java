@@ -0,0 +1,182 @@
+package project.toy.api.scheduler.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 미리 compile 한 메일 template. 문법은 아래 2가지만 지원한다.
+ * <pre>
+ *   {{name}}                 값 출력 (html template 이면 escape)
+ *   {{#items}} ... {{/items}} 목록의 항목마다 반복, 안에서는 항목의 값을 출력
+ * </pre>
+ * compile 결과는 고정 문자열과 값 자리의 목록이라 렌더링할 때 template 을 다시 해석하지 않는다.
+ */
+public class MailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    private final boolean html;
+    private final List<Segment> segments;
+
+    private MailTemplate(String name, boolean html, List<Segment> segments) {
+        this.name = name;
+        this.html = html;
+        this.segments = segments;
+    }
+
+    /**
+     * 렌더링할 값. 값이 없으면 null (빈 문자열로 출력)
+     */
+    public interface Scope {
+
+        String value(String key);
+
+        List<? extends Scope> section(String key);
+    }
+
+    public static MailTemplate compile(String name, String source) {
+        Deque<List<Segment>> stack = new ArrayDeque<>();
+        Deque<String> sections = new ArrayDeque<>();
+        stack.push(new ArrayList<>());
+
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                stack.peek().add(new Literal(source.substring(position)));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalStateException("mail template " + name + ": unclosed tag at " + open);
+            }
+            if (open > position) {
+                stack.peek().add(new Literal(source.substring(position, open)));
+            }
+
+            String tag = source.substring(open + OPEN.length(), close).trim();
+            if (tag.startsWith("#")) {
+                sections.push(tag.substring(1));
+                stack.push(new ArrayList<>());
+            } else if (tag.startsWith("/")) {
+                if (sections.isEmpty() || !sections.peek().equals(tag.substring(1))) {
+                    throw new IllegalStateException("mail template " + name + ": unexpected {{" + tag + "}}");
+                }
+                List<Segment> body = stack.pop();
+                stack.peek().add(new Section(sections.pop(), body));
+            } else {
+                stack.peek().add(new Variable(tag));
+            }
+            position = close + CLOSE.length();
+        }
+
+        if (!sections.isEmpty()) {
+            throw new IllegalStateException("mail template " + name + ": unclosed {{#" + sections.peek() + "}}");
+        }
+        return new MailTemplate(name, name.endsWith(".html"), stack.pop());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void render(Scope scope, StringBuilder out) {
+        render(segments, scope, out);
+    }
+
+    private void render(List<Segment> segments, Scope scope, StringBuilder out) {
+        for (Segment segment : segments) {
+            segment.render(this, scope, out);
+        }
+    }
+
+    private void write(String value, StringBuilder out) {
+        if (value == null) {
+            return;
+        }
+        if (!html) {
+            out.append(value);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '"':
+                    out.append("&quot;");
+                    break;
+                case '\'':
+                    out.append("&#39;");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+
+    private interface Segment {
+        void render(MailTemplate template, Scope scope, StringBuilder out);
+    }
+
+    private static class Literal implements Segment {
+
+        private final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(MailTemplate template, Scope scope, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    private static class Variable implements Segment {
+
+        private final String key;
+
+        Variable(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void render(MailTemplate template, Scope scope, StringBuilder out) {
+            template.write(scope.value(key), out);
+        }
+    }
+
+    private static class Section implements Segment {
+
+        private final String key;
+        private final List<Segment> body;
+
+        Section(String key, List<Segment> body) {
+            this.key = key;
+            this.body = body;
+        }
+
+        @Override
+        public void render(MailTemplate template, Scope scope, StringBuilder out) {
+            List<? extends Scope> items = scope.section(key);
+            if (items == null) {
+                return;
+            }
+            for (Scope item : items) {
+                template.render(body, item, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package project.toy.api.scheduler.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import project.toy.api.scheduler.vo.MailDigestVO;
+import project.toy.api.scheduler.vo.SendMailVO;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 매칭 메일 template (classpath:mail/*.html, *.txt). 기동 시 1번 compile 하고,
+ * 렌더링은 thread 별로 재사용하는 StringBuilder 에 쓴다.
+ * 상태/종류는 enum 이름 대신 LostStatus.getValue(), LostCategory.getValue() 로 출력한다.
+ */
+@Component
+public class MailTemplates {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_BUFFER_SIZE = 256 * 1024;     // 이보다 커진 buffer 는 버려 큰 digest 1건 때문에 메모리를 계속 잡지 않도록
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(BUFFER_SIZE));
+
+    private MailTemplate matchHtml;
+    private MailTemplate matchText;
+    private MailTemplate digestHtml;
+    private MailTemplate digestText;
+
+    @PostConstruct
+    public void init() {
+        matchHtml = load("mail/match.html");
+        matchText = load("mail/match.txt");
+        digestHtml = load("mail/digest.html");
+        digestText = load("mail/digest.txt");
+    }
+
+    public Body match(SendMailVO mail) {
+        ItemScope scope = new ItemScope(mail, 1);
+        return new Body(render(matchText, scope), render(matchHtml, scope));
+    }
+
+    public Body digest(MailDigestVO digest) {
+        DigestScope scope = new DigestScope(digest);
+        return new Body(render(digestText, scope), render(digestHtml, scope));
+    }
+
+    /**
+     * multipart/alternative 로 보낼 text, html 본문
+     */
+    public static class Body {
+
+        private final String text;
+        private final String html;
+
+        Body(String text, String html) {
+            this.text = text;
+            this.html = html;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getHtml() {
+            return html;
+        }
+    }
+
+    private String render(MailTemplate template, MailTemplate.Scope scope) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.render(scope, buffer);
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_BUFFER_SIZE) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    private MailTemplate load(String path) {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return MailTemplate.compile(path, StreamUtils.copyToString(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("mail template not found. path=" + path, e);
+        }
+    }
+
+    private static class DigestScope implements MailTemplate.Scope {
+
+        private final MailDigestVO digest;
+
+        DigestScope(MailDigestVO digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public String value(String key) {
+            switch (key) {
+                case "email":
+                    return digest.getEmail();
+                case "count":
+                    return String.valueOf(digest.getItems().size());
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public List<? extends MailTemplate.Scope> section(String key) {
+            if (!"items".equals(key)) {
+                return null;
+            }
+            List<ItemScope> items = new ArrayList<>(digest.getItems().size());
+            for (SendMailVO item : digest.getItems()) {
+                items.add(new ItemScope(item, items.size() + 1));
+            }
+            return items;
+        }
+    }
+
+    private static class ItemScope implements MailTemplate.Scope {
+
+        private final SendMailVO mail;
+        private final int index;
+
+        ItemScope(SendMailVO mail, int index) {
+            this.mail = mail;
+            this.index = index;
+        }
+
+        @Override
+        public String value(String key) {
+            switch (key) {
+                case "index":
+                    return String.valueOf(index);
+                case "email":
+                    return mail.getEmail();
+                case "itemName":
+                    return mail.getItemName();
+                case "category":
+                    return mail.getCategory() == null ? null : mail.getCategory().getValue();
+                case "status":
+                    return mail.getStatus() == null ? null : mail.getStatus().getValue();
+                case "takePosition":
+                    return mail.getTakePosition();
+                case "itemDetailInfo":
+                    return mail.getItemDetailInfo();
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public List<? extends MailTemplate.Scope> section(String key) {
+            return null;
+        }
+    }
+}
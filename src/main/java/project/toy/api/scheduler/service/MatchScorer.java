@@ -0,0 +1,188 @@
+package project.toy.api.scheduler.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.LostItemGram;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.scheduler.vo.MemberLostItemQueryVO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 회원 분실물 조건과 분실물의 유사도 점수 (0 ~ 1).
+ * <pre>
+ *   text 점수 = max(keyword bi-gram 이 분실물 text 에 포함된 비율, 1 - 편집거리 / keyword 길이)
+ *   점수     = (분실물명 0.7 + 상세내용 0.3) × 종류 가중치 × 상태 가중치
+ * </pre>
+ * text 는 공백 제거, 소문자 변환 후 비교하므로 "갤럭시S22" 와 "갤럭시 S22" 는 1점이다.
+ * 편집거리는 분실물 text 중 keyword 와 가장 가까운 부분 문자열 기준이라 분실물명이 길어도 불리하지 않다.
+ */
+@Component
+public class MatchScorer {
+
+    private static final double ITEM_NAME_WEIGHT = 0.7;
+    private static final double ITEM_DETAIL_INFO_WEIGHT = 0.3;
+
+    @Value("${publicData.lostItem.matching.topK:5}")
+    private int topK;
+
+    @Value("${publicData.lostItem.matching.threshold:0.6}")
+    private double threshold;
+
+    public double score(MemberLostItemQueryVO query, LostItem lostItem) {
+        if (query.getCategory() != lostItem.getCategory()) {
+            return 0;
+        }
+        double text = ITEM_NAME_WEIGHT * textScore(query.getItemName(), lostItem.getItemName())
+                + ITEM_DETAIL_INFO_WEIGHT * textScore(query.getItemDetailInfo(), lostItem.getItemDetailInfo());
+        return text * categoryWeight(lostItem.getCategory()) * statusWeight(lostItem.getStatus());
+    }
+
+    /**
+     * 회원 분실물 조건별 점수 상위 topK 건 (threshold 이상)을 모은다.
+     */
+    public TopK topK() {
+        return new TopK();
+    }
+
+    public class TopK {
+
+        // 회원 분실물 SEQ 기준. 같은 회원 분실물의 조건 객체가 바뀌어도 (색인 갱신) 한 queue 에 모인다
+        private final Map<Long, PriorityQueue<Scored>> queues = new LinkedHashMap<>();
+        private final Map<Long, MemberLostItemQueryVO> queries = new LinkedHashMap<>();
+
+        public void offer(MemberLostItemQueryVO query, LostItem lostItem) {
+            double score = score(query, lostItem);
+            if (score < threshold) {
+                return;
+            }
+            queries.put(query.getMemberLostItemId(), query);
+            PriorityQueue<Scored> queue = queues.computeIfAbsent(query.getMemberLostItemId(), key -> new PriorityQueue<>(Comparator.comparingDouble(Scored::getScore)));
+            queue.add(new Scored(lostItem, score));
+            if (queue.size() > topK) {
+                queue.poll();   // 가장 낮은 점수 제거
+            }
+        }
+
+        public void offerAll(MemberLostItemQueryVO query, List<LostItem> lostItems) {
+            for (LostItem lostItem : lostItems) {
+                offer(query, lostItem);
+            }
+        }
+
+        public Collection<MemberLostItemQueryVO> queries() {
+            return queries.values();
+        }
+
+        // 점수 높은 순
+        public List<Scored> results(MemberLostItemQueryVO query) {
+            List<Scored> results = new ArrayList<>(queues.getOrDefault(query.getMemberLostItemId(), new PriorityQueue<>()));
+            results.sort(Comparator.comparingDouble(Scored::getScore).reversed());
+            return results;
+        }
+
+        // 같은 매칭 구간에서 이미 알린 건수만큼 줄인 점수 높은 순 결과 (회원 분실물당 topK 건 유지)
+        public List<Scored> results(MemberLostItemQueryVO query, long notified) {
+            List<Scored> results = results(query);
+            return results.subList(0, (int) Math.max(0, Math.min(results.size(), topK - notified)));
+        }
+    }
+
+    public static class Scored {
+
+        private final LostItem lostItem;
+        private final double score;
+
+        Scored(LostItem lostItem, double score) {
+            this.lostItem = lostItem;
+            this.score = score;
+        }
+
+        public LostItem getLostItem() {
+            return lostItem;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    // keyword 가 없으면 조건이 없는 것이므로 만점
+    static double textScore(String keyword, String text) {
+        if (!hasText(keyword)) {
+            return 1;
+        }
+        String k = LostItemGram.normalize(keyword);
+        String t = LostItemGram.normalize(text);
+        if (t.contains(k)) {
+            return 1;
+        }
+
+        double overlap = 0;
+        Set<String> keywordGrams = LostItemGram.grams(k);
+        if (!keywordGrams.isEmpty()) {
+            Set<String> textGrams = LostItemGram.grams(t);
+            long shared = keywordGrams.stream().filter(textGrams::contains).count();
+            overlap = (double) shared / keywordGrams.size();
+        }
+        double edit = 1 - (double) substringDistance(k, t) / k.length();
+        return Math.max(overlap, Math.max(0, edit));
+    }
+
+    /**
+     * text 의 부분 문자열 중 keyword 와의 최소 편집거리. 시작 위치를 자유롭게 두는 Levenshtein (O(|keyword| × |text|))
+     */
+    static int substringDistance(String keyword, String text) {
+        int[] previous = new int[text.length() + 1];   // keyword 0글자: 어느 위치에서 시작해도 거리 0
+        int[] current = new int[text.length() + 1];
+        for (int i = 1; i <= keyword.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= text.length(); j++) {
+                int cost = keyword.charAt(i - 1) == text.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int min = keyword.length();
+        for (int distance : previous) {
+            min = Math.min(min, distance);
+        }
+        return min;
+    }
+
+    // 기타 종류는 여러 물건이 섞여 있어 낮게
+    private static double categoryWeight(LostCategory category) {
+        return category == LostCategory.ETC ? 0.8 : 1;
+    }
+
+    // 보관 중인 분실물을 우선, 이관된 분실물은 찾으러 가기 번거로워 낮게
+    private static double statusWeight(LostStatus status) {
+        if (status == null) {
+            return 0.6;
+        }
+        switch (status) {
+            case KEEP:
+                return 1;
+            case POLICE:
+            case POST:
+                return 0.9;
+            case RECEIVE:
+                return 0;
+            default:
+                return 0.6;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package project.toy.api.scheduler.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분실물 매칭 metric. /actuator/metrics/lostitem.matching.* 로 조회한다.
+ */
+@Component
+public class MatchingMetrics {
+
+    private final MeterRegistry registry;
+
+    public MatchingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * 매칭 작업(delta, all, member) 1회 소요시간, 매칭된 회원 분실물 수, 발송 상태 update 문 수
+     */
+    public void run(String job, long startNanos, int matched, int statements) {
+        Timer.builder("lostitem.matching.run")
+                .tag("job", job)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("lostitem.matching.matched")
+                .tag("job", job)
+                .register(registry)
+                .increment(matched);
+        DistributionSummary.builder("lostitem.matching.statements")
+                .description("send status update statements per run")
+                .tag("job", job)
+                .register(registry)
+                .record(statements);
+    }
+
+    /**
+     * 등록/수정 요청 안에서의 즉시 매칭 소요시간. result: matched, timeout, rejected, failed
+     */
+    public void immediate(long startNanos, String result) {
+        Timer.builder("lostitem.matching.immediate")
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,240 @@
+package project.toy.api.scheduler.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.LostItemGram;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.domain.MemberLostItem;
+import project.toy.api.repository.MemberLostItemRepository;
+import project.toy.api.scheduler.vo.MemberLostItemQueryVO;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 회원 분실물 검색 조건의 in-memory 역색인.
+ * 분실물 1건마다 회원 조건 전체를 조회하지 않고, 분실물의 종류와 글자 조각으로 후보 조건만 찾는다.
+ * <pre>
+ *   category → 분실물명 bi-gram → 조건 목록 (분실물명이 없으면 상세내용 bi-gram, 둘 다 없으면 category 전체)
+ * </pre>
+ * 조각은 LostItemGram 과 같이 공백 제거, 소문자 변환 후 만들고 1글자 keyword 는 그 글자로 색인한다.
+ * 분실물 text 의 모든 1~2글자 조각으로 찾으므로 keyword 가 포함된 분실물은 반드시 후보에 들어가고,
+ * 띄어쓰기/오타가 있어 조각 일부만 겹치는 분실물도 후보로 얻어 MatchScorer 로 점수를 매길 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberLostItemIndex {
+
+    private final MemberLostItemRepository memberLostItemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<LostCategory, Bucket> buckets = new EnumMap<>(LostCategory.class);
+    private final Map<Long, MemberLostItemQueryVO> queries = new HashMap<>();
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<MemberLostItem> memberLostItems = memberLostItemRepository.findMemberLostItemFetchJoin();
+
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            queries.clear();
+            for (MemberLostItem memberLostItem : memberLostItems) {
+                add(MemberLostItemQueryVO.of(memberLostItem));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("member lost item index rebuilt. size={}", memberLostItems.size());
+    }
+
+    /**
+     * 등록/수정된 회원 분실물을 색인에 반영한다. 트랜잭션 안에서 호출되면 commit 이후에 반영한다.
+     */
+    public void put(MemberLostItem memberLostItem) {
+        MemberLostItemQueryVO query = MemberLostItemQueryVO.of(memberLostItem);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(query);
+                }
+            });
+        } else {
+            put(query);
+        }
+    }
+
+    public void put(MemberLostItemQueryVO query) {
+        lock.writeLock().lock();
+        try {
+            removeQuery(query.getMemberLostItemId());
+            add(query);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 회원 분실물을 색인에서 바로 뺀다. 트랜잭션 안에서 호출되면 rollback 시 원래 조건을 되돌린다.
+     * 수정 중인 조건으로 다른 매칭 작업이 메일을 보내지 않도록 수정/삭제 트랜잭션 시작 시 호출하고, 수정은 put 으로 commit 이후 다시 반영.
+     */
+    public void remove(Long memberLostItemId) {
+        MemberLostItemQueryVO removed;
+        lock.writeLock().lock();
+        try {
+            removed = removeQuery(memberLostItemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (removed != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        put(removed);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 분실물과 종류가 같고 글자 조각이 1개 이상 겹치는 회원 분실물 조건 (수령 완료된 분실물은 제외)
+     */
+    public Set<MemberLostItemQueryVO> candidates(LostItem lostItem) {
+        Set<MemberLostItemQueryVO> result = new LinkedHashSet<>();
+        if (lostItem.getStatus() == LostStatus.RECEIVE) {
+            return result;
+        }
+
+        lock.readLock().lock();
+        try {
+            Bucket bucket = buckets.get(lostItem.getCategory());
+            if (bucket == null) {
+                return result;
+            }
+            result.addAll(bucket.any);
+            for (String key : keys(lostItem.getItemName())) {
+                collect(bucket.byItemName.get(key), result);
+            }
+            for (String key : keys(lostItem.getItemDetailInfo())) {
+                collect(bucket.byItemDetailInfo.get(key), result);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return queries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(MemberLostItemQueryVO query) {
+        // 종류가 없는 조건은 category = null 로 조회되어 일치하는 분실물이 없다.
+        if (query.getCategory() == null) {
+            return;
+        }
+        queries.put(query.getMemberLostItemId(), query);
+        bucketOf(query).add(query);
+    }
+
+    private MemberLostItemQueryVO removeQuery(Long memberLostItemId) {
+        MemberLostItemQueryVO query = queries.remove(memberLostItemId);
+        if (query != null) {
+            bucketOf(query).remove(query);
+        }
+        return query;
+    }
+
+    private Bucket bucketOf(MemberLostItemQueryVO query) {
+        return buckets.computeIfAbsent(query.getCategory(), category -> new Bucket());
+    }
+
+    private void collect(List<MemberLostItemQueryVO> candidates, Set<MemberLostItemQueryVO> result) {
+        if (candidates != null) {
+            result.addAll(candidates);
+        }
+    }
+
+    // 분실물 text 의 모든 1~2글자 조각
+    private static Set<String> keys(String text) {
+        Set<String> keys = LostItemGram.grams(text);
+        String normalized = LostItemGram.normalize(text);
+        for (int i = 0; i < normalized.length(); i++) {
+            keys.add(normalized.substring(i, i + 1));
+        }
+        return keys;
+    }
+
+    // 조건 keyword 의 bi-gram, 1글자면 그 글자
+    private static Set<String> queryKeys(String keyword) {
+        Set<String> keys = LostItemGram.grams(keyword);
+        if (keys.isEmpty()) {
+            keys.add(LostItemGram.normalize(keyword));
+        }
+        return keys;
+    }
+
+    private static class Bucket {
+
+        private final Map<String, List<MemberLostItemQueryVO>> byItemName = new HashMap<>();
+        private final Map<String, List<MemberLostItemQueryVO>> byItemDetailInfo = new HashMap<>();
+        private final List<MemberLostItemQueryVO> any = new ArrayList<>();
+
+        void add(MemberLostItemQueryVO query) {
+            for (List<MemberLostItemQueryVO> list : listsOf(query)) {
+                list.add(query);
+            }
+        }
+
+        void remove(MemberLostItemQueryVO query) {
+            for (List<MemberLostItemQueryVO> list : listsOf(query)) {
+                list.remove(query);
+            }
+        }
+
+        private List<List<MemberLostItemQueryVO>> listsOf(MemberLostItemQueryVO query) {
+            List<List<MemberLostItemQueryVO>> lists = new ArrayList<>();
+            if (hasText(query.getItemName())) {
+                for (String key : queryKeys(query.getItemName())) {
+                    lists.add(byItemName.computeIfAbsent(key, k -> new ArrayList<>()));
+                }
+            } else if (hasText(query.getItemDetailInfo())) {
+                for (String key : queryKeys(query.getItemDetailInfo())) {
+                    lists.add(byItemDetailInfo.computeIfAbsent(key, k -> new ArrayList<>()));
+                }
+            } else {
+                lists.add(any);
+            }
+            return lists;
+        }
+    }
+}
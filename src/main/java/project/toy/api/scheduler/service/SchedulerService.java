@@ -1,28 +1,40 @@
 package project.toy.api.scheduler.service;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import project.toy.api.domain.LostCategory;
+import project.toy.api.config.async.AsyncConfig;
+import project.toy.api.domain.JobCheckpoint;
 import project.toy.api.domain.LostItem;
 import project.toy.api.domain.LostStatus;
-import project.toy.api.domain.MemberLostItem;
+import project.toy.api.domain.MatchLedger;
+import project.toy.api.exception.PublicApiFail;
+import project.toy.api.repository.JobCheckpointRepository;
 import project.toy.api.repository.LostItemRepository;
+import project.toy.api.repository.MatchLedgerRepository;
 import project.toy.api.repository.MemberLostItemRepository;
-import project.toy.api.scheduler.vo.LostItemVO;
+import project.toy.api.scheduler.vo.IngestResultVO;
+import project.toy.api.scheduler.vo.MailDigestVO;
+import project.toy.api.scheduler.vo.MatchingItemVO;
+import project.toy.api.scheduler.vo.MemberLostItemQueryVO;
 import project.toy.api.scheduler.vo.SendMailVO;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -31,106 +43,333 @@ import java.util.List;
 public class SchedulerService {
 
     private final LostItemRepository lostItemRepository;
-
-    @Value("${publicData.lostItem.baseUrl}")
-    private String baseUrl;
+    private final LostItemApiClient lostItemApiClient;
+    private final LostItemIngestPipeline lostItemIngestPipeline;
+    private final LostItemBackfill lostItemBackfill;
+    private final LostItemReplay lostItemReplay;
+    private final LostItemGramIndexer lostItemGramIndexer;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final IngestMetrics ingestMetrics;
 
     private final MemberLostItemRepository memberLostItemRepository;
-    private final SendMail sendMail;
+    private final LostItemMatcher lostItemMatcher;
+    private final MatchLedgerRepository matchLedgerRepository;
+    private final MailOutboxService mailOutboxService;
+    private final EntityManager em;
+    private final MatchingMetrics matchingMetrics;
+    private final MatchScorer matchScorer;
+
+    @Value("${publicData.lostItem.matching.lagSeconds:60}")
+    private long matchingLagSeconds;
+
+    // 매칭 cursor 가 없을 때 (첫 실행) 매칭할 최근 저장/수정 구간.
+    @Value("${publicData.lostItem.matching.initialLookbackHours:24}")
+    private long initialLookbackHours;
 
     // ##### setLostItem #####
+    private static final int DEFAULT_WINDOW = 100;     // watermark 가 없을 때 수집할 최근 건수
+
+    // 이전 수집 구간 중 다시 조회할 최근 건수. 보관 → 수령 등 상태가 바뀐 분실물을 반영하고, 바뀌지 않은 row 는 fingerprint 로 건너뛴다.
+    @Value("${publicData.lostItem.overlapWindow:100}")
+    private int overlapWindow;
+
+    // watermark 분실물을 찾을 때까지 앞으로 넓혀 조회할 최대 건수
+    @Value("${publicData.lostItem.maxCatchUp:10000}")
+    private int maxCatchUp;
+
+    /**
+     * 이전 수집 이후 늘어난 구간 (list_total_count 차이) 과 그 앞 overlapWindow 건을 조회한다.
+     * 조회한 row 에 watermark 분실물 SEQ 이하가 없으면 (삭제로 건수가 줄었거나 순서가 밀린 경우) 놓친 row 가 있을 수 있으므로
+     * watermark 를 만날 때까지 앞쪽으로 2배씩 넓혀 다시 조회한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // batch 별로 LostItemWriter 에서 트랜잭션 처리
     public void setLostItem() {
+        long started = ingestMetrics.start();
+        boolean success = false;
         try {
-            int listTotalCount = Integer.parseInt(lostItemApiCall(1, 1).getList_total_count());
+            JobCheckpoint watermark = jobCheckpointRepository.findById(JobCheckpoint.INCREMENTAL)
+                    .orElseGet(() -> new JobCheckpoint(JobCheckpoint.INCREMENTAL));
+            int listTotalCount = lostItemApiClient.listTotalCount();
+            if (listTotalCount == 0) {
+                log.info("no lost item. listTotalCount={}", listTotalCount);
+                success = true;
+                return;
+            }
 
-            LostItemVO lostItemVO = lostItemApiCall(listTotalCount - 100, listTotalCount);
+            String watermarkId = watermark.getLastLostItemId();
+            int from;
+            if (watermark.getListTotalCount() == 0 || watermarkId == null) {
+                from = Math.max(1, listTotalCount - DEFAULT_WINDOW);
+            } else {
+                if (listTotalCount < watermark.getListTotalCount()) {
+                    log.warn("list_total_count shrank. widen until watermark. before={}, now={}, lastLostItemId={}",
+                            watermark.getListTotalCount(), listTotalCount, watermarkId);
+                }
+                from = Math.max(1, Math.min(watermark.getListTotalCount(), listTotalCount) + 1 - overlapWindow);
+            }
+
+            AtomicReference<String> lastLostItemId = new AtomicReference<>(watermarkId);
+            AtomicBoolean reachedWatermark = new AtomicBoolean(watermarkId == null);
+            IngestResultVO result = new IngestResultVO();
+            int to = listTotalCount;
+            int step = overlapWindow;
+            while (true) {
+                List<int[]> windows = LostItemApiClient.windows(from, to, LostItemApiClient.MAX_WINDOW_SIZE);
+                result.add(lostItemIngestPipeline.run(windows,
+                        (window, rowConsumer) -> lostItemApiClient.call(window[0], window[1], row -> {
+                            lastLostItemId.accumulateAndGet(row.getId(), (last, id) -> isNewer(id, last) ? id : last);
+                            if (!isNewer(row.getId(), watermarkId)) {
+                                reachedWatermark.set(true);
+                            }
+                            rowConsumer.accept(row);
+                        }),
+                        window -> {}));
+
+                if (reachedWatermark.get() || from == 1 || result.getFailed() > 0) {
+                    break;
+                }
+                if (listTotalCount - from + 1 >= maxCatchUp) {
+                    log.warn("watermark not found within maxCatchUp. run backfill to fill gaps. from={}, lastLostItemId={}", from, watermarkId);
+                    break;
+                }
+                step *= 2;
+                to = from - 1;
+                from = Math.max(1, from - step);
+            }
 
-            lostItemSave(lostItemVO.getRow());
+            // 실패한 window 가 있으면 watermark 를 유지해 다음 수집에서 다시 조회
+            if (result.getFailed() > 0) {
+                log.warn("lost item ingest incomplete. keep watermark. result={}", result);
+                return;
+            }
+            watermark.advance(listTotalCount, lastLostItemId.get());
+            jobCheckpointRepository.save(watermark);
+            log.info("lost item watermark. from={}, listTotalCount={}, lastLostItemId={}, result={}", from, listTotalCount, lastLostItemId.get(), result);
+            success = true;
+        } catch (PublicApiFail e) {
+            log.warn("lost item api unavailable. skip this run. message={}", e.getMessage());
         } catch (Exception e) {
             log.error("errorMessage", e);
+        } finally {
+            ingestMetrics.run(IngestMetrics.INCREMENTAL, started, success);
         }
     }
 
-    private void lostItemSave(List<LostItemVO.row> row) {
-        List<LostItem> lostItems = new ArrayList<>();
-        for (LostItemVO.row apiData : row) {
-            LostStatus lostStatus = LostStatus.getKey(apiData.getSTATUS());
-            LostCategory lostCategory = LostCategory.getKey(apiData.getCATE());
+    // 분실물 SEQ 는 숫자 문자열이므로 길이 → 사전순으로 비교
+    private boolean isNewer(String id, String lastId) {
+        if (lastId == null) {
+            return true;
+        }
+        if (id.length() != lastId.length()) {
+            return id.length() > lastId.length();
+        }
+        return id.compareTo(lastId) > 0;
+    }
 
-            LostItem findLostItem = lostItemRepository.findById(apiData.getID())
-                    .orElseGet(LostItem::new);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // window 별로 LostItemWriter 에서 트랜잭션 처리
+    public void backfillLostItem() {
+        if (!lostItemBackfill.isEnabled()) {
+            return;
+        }
 
-            if ("".equals(findLostItem.getId()) || findLostItem.getId() == null) {
-                findLostItem.setId(apiData.getID());
-            }
-            findLostItem.setStatus(lostStatus);
-            findLostItem.setCategory(lostCategory);
-            findLostItem.setItemName(apiData.getGET_NAME());
-            findLostItem.setItemDetailInfo(apiData.getGET_THING());
-            findLostItem.setTakePlace(apiData.getTAKE_PLACE());
-            findLostItem.setTakePosition(apiData.getGET_POSITION());
-            findLostItem.setRegDate(apiData.getREG_DATE());
-            findLostItem.setGetDate(apiData.getGET_DATE());
-
-            lostItems.add(findLostItem);
+        try {
+            lostItemBackfill.backfill();
+        } catch (Exception e) {
+            log.error("errorMessage", e);
         }
-        lostItemRepository.saveAll(lostItems);
     }
 
-    private LostItemVO lostItemApiCall(int startIndex, int endIndex) {
-        LostItemVO lostItemVO;
-        String apiCallUrl = baseUrl + startIndex + "/" + endIndex;
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // batch 별로 LostItemWriter 에서 트랜잭션 처리
+    public void replayLostItem() {
+        if (!lostItemReplay.isEnabled()) {
+            return;
+        }
 
         try {
-            URL url = new URL(apiCallUrl);
+            lostItemReplay.replay();
+        } catch (Exception e) {
+            log.error("errorMessage", e);
+        }
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // batch 별로 LostItemWriter 에서 트랜잭션 처리
+    public void reindexLostItemGram() {
+        try {
+            lostItemGramIndexer.reindex();
+        } catch (Exception e) {
+            log.error("errorMessage", e);
+        }
+    }
+    // ##### setLostItem #####
 
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
+    // ##### sendEmail #####
+    private static final DateTimeFormatter MATCHED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss");
+    private static final int MATCHING_PAGE_SIZE = 1000;
+    private static final int CANDIDATE_LIMIT = 1000;   // 회원 분실물 1건 재매칭 시 점수를 계산할 최대 분실물 수
 
-            BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream(), "UTF-8"));
+    /**
+     * 지난 매칭 이후 저장/수정된 분실물만 LostItemMatcher 로 종류별 후보를 찾아 점수를 매기고,
+     * 회원 분실물별 상위 topK 건에 메일을 보낸다. 같은 구간에서 적재 event 매칭 등으로 이미 알린 건수만큼 topK 에서 뺀다.
+     * 매칭 시각은 진행 중인 적재 트랜잭션이 commit 될 여유를 두고 matchingLagSeconds 만큼 이전까지로 잡는다.
+     * 조회/매칭 비용은 분실물 전체가 아니라 구간 안에 새로 적재된 분실물 수에 비례한다.
+     */
+    public void matchingItemSendEmail() {
+        long started = matchingMetrics.start();
+        JobCheckpoint cursor = jobCheckpointRepository.findById(JobCheckpoint.MATCH)
+                .orElseGet(() -> new JobCheckpoint(JobCheckpoint.MATCH));
+        LocalDateTime now = LocalDateTime.now();
+        String from = cursor.getMatchedAt() != null
+                ? cursor.getMatchedAt()
+                : now.minusHours(initialLookbackHours).format(MATCHED_AT_FORMAT);
+        String to = now.minusSeconds(matchingLagSeconds).format(MATCHED_AT_FORMAT);
 
-            String inputLine;
-            StringBuilder sb = new StringBuilder();
-            while ((inputLine = br.readLine()) != null) {
-                sb.append(inputLine);
+        int count = 0;
+        LostItemMatcher.Partitions partitions = lostItemMatcher.partitions();
+        String lastId = null;
+        List<LostItem> lostItems;
+        do {
+            lostItems = lostItemRepository.findModifiedBetween(from, to, lastId, MATCHING_PAGE_SIZE);
+            offer(partitions, lostItems);
+            if (!lostItems.isEmpty()) {
+                lastId = lostItems.get(lostItems.size() - 1).getId();
             }
-            br.close();
-            conn.disconnect();
+            count += lostItems.size();
+        } while (lostItems.size() == MATCHING_PAGE_SIZE);
 
-            JsonObject jsonObject = new Gson().fromJson(sb.toString(), JsonObject.class);
-            if (jsonObject.has("lostArticleInfo")) {
-                lostItemVO = new Gson().fromJson(jsonObject.get("lostArticleInfo"), LostItemVO.class);
-            } else {
-                lostItemVO = new Gson().fromJson(jsonObject, LostItemVO.class);
+        Notifications notifications = new Notifications(from);
+        for (MatchScorer.TopK topK : partitions.topKs()) {
+            notifications.add(topK);
+        }
+        int statements = notify(notifications);
+        cursor.matchedUntil(to);
+        jobCheckpointRepository.save(cursor);
+        matchingMetrics.run("delta", started, notifications.memberLostItemIds.size(), statements);
+        log.info("matching delta. from={}, to={}, lostItems={}, memberLostItems={}, mails={}",
+                from, to, count, notifications.memberLostItemIds.size(), notifications.mails.size());
+    }
+
+    /**
+     * 적재 batch 에서 신규/변경된 분실물만 매칭한다. LostItemIngestedListener 에서 적재 commit 이후 호출.
+     * 매칭 cursor 는 옮기지 않으므로 하루 1번 도는 matchingItemSendEmail 이 놓친 분실물을 다시 매칭한다 (보낸 건은 match ledger 로 제외).
+     * 알린 건수는 매칭 구간 (cursor 이후) 단위로 세므로 event 매칭과 하루 1번 매칭을 합쳐 회원 분실물당 topK 건을 넘지 않는다.
+     */
+    public void matchLostItems(List<String> lostItemIds) {
+        long started = matchingMetrics.start();
+        LostItemMatcher.Partitions partitions = lostItemMatcher.partitions();
+        for (int i = 0; i < lostItemIds.size(); i += MATCHING_PAGE_SIZE) {
+            List<String> page = lostItemIds.subList(i, Math.min(i + MATCHING_PAGE_SIZE, lostItemIds.size()));
+            offer(partitions, lostItemRepository.findAllById(page).stream()
+                    .filter(lostItem -> lostItem.getStatus() != LostStatus.RECEIVE)
+                    .collect(Collectors.toList()));
+        }
+
+        Notifications notifications = new Notifications(matchedAt());
+        for (MatchScorer.TopK topK : partitions.topKs()) {
+            notifications.add(topK);
+        }
+        int statements = notify(notifications);
+        matchingMetrics.run("event", started, notifications.memberLostItemIds.size(), statements);
+        log.info("matching event. lostItems={}, memberLostItems={}, mails={}",
+                lostItemIds.size(), notifications.memberLostItemIds.size(), notifications.mails.size());
+    }
+
+    private void offer(LostItemMatcher.Partitions partitions, List<LostItem> lostItems) {
+        Map<String, Set<Long>> notified = lostItems.isEmpty() ? Map.of() : matchLedgerRepository.findNotified(lostItems.stream()
+                .map(LostItem::getId)
+                .collect(Collectors.toList()));
+        partitions.offer(lostItems, notified);
+        em.flush();
+        em.clear();     // 조회한 분실물이 영속성 컨텍스트에 계속 쌓이지 않도록 page 마다 비움
+    }
+
+    /**
+     * 수정된 회원 분실물 1건을 분실물 전체와 다시 매칭한다. 수정 트랜잭션 commit 이후 요청 thread 가 아닌 매칭 executor 에서 새 트랜잭션으로 실행.
+     */
+    @Async(AsyncConfig.MATCHING_EXECUTOR)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void rematchMemberLostItem(Long memberLostItemId) {
+        long started = matchingMetrics.start();
+        Notifications notifications = new Notifications(matchedAt());
+        memberLostItemRepository.findById(memberLostItemId).ifPresent(memberLostItem -> {
+            MatchScorer.TopK topK = matchScorer.topK();
+            topK.offerAll(MemberLostItemQueryVO.of(memberLostItem), lostItemRepository.findCandidates(memberLostItem, CANDIDATE_LIMIT));
+            notifications.add(topK);
+        });
+        int statements = notify(notifications);
+        matchingMetrics.run("member", started, notifications.memberLostItemIds.size(), statements);
+    }
+
+    // 현재 매칭 구간의 시작 (마지막 하루 1번 매칭 시각)
+    private String matchedAt() {
+        return jobCheckpointRepository.findById(JobCheckpoint.MATCH)
+                .map(JobCheckpoint::getMatchedAt)
+                .orElse(null);
+    }
+
+    /**
+     * 매칭 작업 1회에서 알릴 매칭 건. 메일은 수신자별로 모아 매칭된 분실물 목록을 1통으로 보낸다.
+     */
+    private class Notifications {
+
+        private final String since;     // 매칭 구간 시작, 이 시각 이후 이미 알린 건수는 topK 에서 뺀다
+        private final Set<Long> memberLostItemIds = new LinkedHashSet<>();
+        private final Map<String, Map<String, SendMailVO>> mails = new LinkedHashMap<>();    // 수신자 → 분실물 SEQ → 메일 항목
+
+        Notifications(String since) {
+            this.since = since;
+        }
+
+        void add(MatchScorer.TopK topK) {
+            if (topK.queries().isEmpty()) {
+                return;
+            }
+            // 이번 작업에서 앞서 persist 한 ledger 도 조회 전에 flush 되어 함께 센다
+            Map<Long, Long> notified = matchLedgerRepository.countNotifiedSince(topK.queries().stream()
+                    .map(MemberLostItemQueryVO::getMemberLostItemId)
+                    .collect(Collectors.toList()), since);
+            for (MemberLostItemQueryVO query : topK.queries()) {
+                for (MatchScorer.Scored scored : topK.results(query, notified.getOrDefault(query.getMemberLostItemId(), 0L))) {
+                    add(matchingItem(query, scored.getLostItem()));
+                }
             }
+        }
 
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        void add(MatchingItemVO matchingItem) {
+            em.persist(new MatchLedger(matchingItem.getMemberLostItemId(), matchingItem.getLostItemId()));
+            memberLostItemIds.add(matchingItem.getMemberLostItemId());
+            // 같은 회원의 여러 회원 분실물에 매칭된 분실물은 메일에 1번만 담는다 (ledger 는 쌍마다 기록)
+            mails.computeIfAbsent(matchingItem.getEmail(), email -> new LinkedHashMap<>()).putIfAbsent(matchingItem.getLostItemId(), SendMailVO.builder()
+                    .email(matchingItem.getEmail())
+                    .status(matchingItem.getStatus())
+                    .category(matchingItem.getCategory())
+                    .itemName(matchingItem.getItemName())
+                    .itemDetailInfo(matchingItem.getItemDetailInfo())
+                    .takePosition(matchingItem.getTakePosition())
+                    .build());
         }
+    }
 
-        return lostItemVO;
+    // 발송 상태는 매칭 건마다 update 하지 않고 작업 끝에 IN 절로 한꺼번에 update
+    // 메일은 outbox 에 저장만 하고 commit 이후 MailDispatcher 가 보낸다 (SMTP 응답을 기다리며 트랜잭션을 잡지 않도록)
+    private int notify(Notifications notifications) {
+        notifications.mails.forEach((email, items) -> mailOutboxService.enqueue(MailDigestVO.builder()
+                .email(email)
+                .items(new ArrayList<>(items.values()))
+                .build()));
+        return memberLostItemRepository.memberLostItemSendStatusY(notifications.memberLostItemIds);
     }
-    // ##### setLostItem #####
 
-    // ##### sendEmail #####
-    public void matchingItemSendEmail() {
-        List<MemberLostItem> memberLostItems = memberLostItemRepository.findMemberLostItemFetchJoin();
-        log.info("memberLostItems={}", memberLostItems);
-
-        memberLostItems.stream()
-                .flatMap(memberLostItem -> lostItemRepository.findMatchingLostItem(memberLostItem).stream()
-                        .map(matchingItem -> {
-                            memberLostItemRepository.memberLostItemSendStatusY(matchingItem);
-                            return SendMailVO.builder()
-                                    .email(memberLostItem.getMember().getEmail())
-                                    .status(matchingItem.getStatus())
-                                    .category(matchingItem.getCategory())
-                                    .itemName(matchingItem.getItemName())
-                                    .itemDetailInfo(matchingItem.getItemDetailInfo())
-                                    .takePosition(matchingItem.getTakePosition())
-                                    .build();
-                        }))
-                .forEach(sendMail::send);
+    private MatchingItemVO matchingItem(MemberLostItemQueryVO query, LostItem lostItem) {
+        return MatchingItemVO.builder()
+                .memberLostItemId(query.getMemberLostItemId())
+                .lostItemId(lostItem.getId())
+                .email(query.getEmail())
+                .status(lostItem.getStatus())
+                .category(lostItem.getCategory())
+                .itemName(lostItem.getItemName())
+                .itemDetailInfo(lostItem.getItemDetailInfo())
+                .takePosition(lostItem.getTakePosition())
+                .build();
     }
     // ##### sendEmail #####
 }
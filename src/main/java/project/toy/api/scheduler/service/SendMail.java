@@ -2,31 +2,112 @@ package project.toy.api.scheduler.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import project.toy.api.scheduler.vo.MailDigestVO;
 import project.toy.api.scheduler.vo.SendMailVO;
 
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SendMail {
 
     private final JavaMailSender mailSender;
+    private final MailTemplates mailTemplates;
+
+    @Value("${publicData.lostItem.mail.chunkSize:50}")
+    private int chunkSize;
 
     public void send(SendMailVO mail) {
-        SimpleMailMessage simpleMailMessage = new SimpleMailMessage();
+        MailTemplates.Body body = mailTemplates.match(mail);
+        mailSender.send(mimeMessage -> {
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, StandardCharsets.UTF_8.name());
+
+            // 1. 메일 수신자 설정
+            helper.setTo(mail.getEmail());
+
+            // 2. 메일 제목 설정
+            helper.setSubject("[분실물 매칭] 분실물 " + mail.getItemName() + "이 매칭되었습니다.");
+
+            // 3. 메일 내용 설정 (html 을 보지 못하는 메일 client 는 text)
+            helper.setText(body.getText(), body.getHtml());
+        });
+    }
+
+    /**
+     * 한 수신자에게 매칭된 분실물 목록을 메일 1통으로 보낸다.
+     * 운영 발송은 sendBatch 를 사용하고, 이 메서드는 SendMailBatchTest 에서 메일마다 연결하는 방식과 비교하는 용도로만 남겨 둔다.
+     */
+    void send(MailDigestVO digest) {
+        mailSender.send(mimeMessage -> prepare(mimeMessage, digest));
+    }
+
+    /**
+     * chunkSize 건씩 SMTP 연결 1번 (connect/EHLO/AUTH/QUIT 1회)으로 보낸다.
+     * 주소 오류, 수신 거부 등 메일별 실패는 결과로 돌려주고 나머지 메일은 계속 보낸다.
+     * @return 실패한 메일의 digests 내 위치와 실패 사유
+     */
+    public Map<Integer, Exception> sendBatch(List<MailDigestVO> digests) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        for (int from = 0; from < digests.size(); from += chunkSize) {
+            sendChunk(digests, from, Math.min(from + chunkSize, digests.size()), failures);
+        }
+        return failures;
+    }
 
-        // 1. 메일 수신자 설정
-        simpleMailMessage.setTo(mail.getEmail());
+    private void sendChunk(List<MailDigestVO> digests, int from, int to, Map<Integer, Exception> failures) {
+        Map<MimeMessage, Integer> positions = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            try {
+                positions.put(mimeMessage(digests.get(i)), i);
+            } catch (MessagingException e) {
+                failures.put(i, e);
+            }
+        }
+        if (positions.isEmpty()) {
+            return;
+        }
 
-        // 2. 메일 제목 설정
-        simpleMailMessage.setSubject("[분실물 매칭] 분실물 " + mail.getItemName() + "이 매칭되었습니다.");
+        try {
+            mailSender.send(positions.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // 연결 실패 시에는 chunk 전체가 실패 목록에 담긴다
+            e.getFailedMessages().forEach((message, cause) -> failures.put(positions.get(message), cause));
+        } catch (MailException e) {
+            // 인증 실패 등 메일별 결과가 없는 오류는 chunk 전체 실패
+            positions.values().forEach(position -> failures.put(position, e));
+        }
+    }
 
-        // 3. 메일 내용 설정
-        simpleMailMessage.setText(mail.getStatus() + mail.getTakePosition() + mail.getItemDetailInfo());
+    private MimeMessage mimeMessage(MailDigestVO digest) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        prepare(mimeMessage, digest);
+        return mimeMessage;
+    }
+
+    private void prepare(MimeMessage mimeMessage, MailDigestVO digest) throws MessagingException {
+        MailTemplates.Body body = mailTemplates.digest(digest);
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, StandardCharsets.UTF_8.name());
+        helper.setTo(digest.getEmail());
+        helper.setSubject(subject(digest.getItems()));
+        helper.setText(body.getText(), body.getHtml());
+    }
 
-        // 4. 메일 전송
-        mailSender.send(simpleMailMessage);
+    private String subject(List<SendMailVO> items) {
+        return items.size() == 1
+                ? "[분실물 매칭] 분실물 " + items.get(0).getItemName() + "이 매칭되었습니다."
+                : "[분실물 매칭] 분실물 " + items.get(0).getItemName() + " 외 " + (items.size() - 1) + "건이 매칭되었습니다.";
     }
 }
@@ -0,0 +1,48 @@
+package project.toy.api.scheduler.vo;
+
+import lombok.Getter;
+
+/**
+ * 분실물 적재 결과 건수. backfill 은 여러 thread 에서 합산하므로 add 는 동기화한다.
+ */
+@Getter
+public class IngestResultVO {
+
+    private int inserted;
+
+    private int updated;
+
+    private int skipped;           // fingerprint 가 같아 쓰기를 생략한 건수
+
+    private int failed;            // 수집/decode 에 실패한 page 수
+
+    public IngestResultVO() {
+    }
+
+    public IngestResultVO(int inserted, int updated, int skipped) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.skipped = skipped;
+    }
+
+    public synchronized void add(IngestResultVO result) {
+        this.inserted += result.inserted;
+        this.updated += result.updated;
+        this.skipped += result.skipped;
+        this.failed += result.failed;
+    }
+
+    public synchronized void fail() {
+        this.failed++;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "IngestResultVO{" +
+                "inserted=" + inserted +
+                ", updated=" + updated +
+                ", skipped=" + skipped +
+                ", failed=" + failed +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package project.toy.api.scheduler.vo;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * LostItemWriter 가 저장한 batch 의 신규/변경 분실물 SEQ. 적재 트랜잭션이 commit 된 이후에 매칭한다.
+ */
+@Getter
+public class LostItemIngestedEvent {
+
+    private final List<String> lostItemIds;
+
+    public LostItemIngestedEvent(List<String> lostItemIds) {
+        this.lostItemIds = lostItemIds;
+    }
+}
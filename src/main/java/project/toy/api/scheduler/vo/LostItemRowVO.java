@@ -0,0 +1,44 @@
+package project.toy.api.scheduler.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+@Getter
+public class LostItemRowVO {
+
+    private final String id;              // 분실물 SEQ
+    private final String status;          // 분실물 상태
+    private final String category;        // 분실물 종류
+    private final String itemName;        // 분실물명
+    private final String itemDetailInfo;  // 분실물 상세내용
+    private final String takePlace;       // 분실장소
+    private final String takePosition;    // 수령위치(회사)
+    private final String regDate;         // 등록일자 (홈페이지 등록일)
+    private final String getDate;         // 수령일자 (습득일)
+
+    @Builder
+    public LostItemRowVO(String id, String status, String category, String itemName, String itemDetailInfo, String takePlace, String takePosition, String regDate, String getDate) {
+        this.id = id;
+        this.status = status;
+        this.category = category;
+        this.itemName = itemName;
+        this.itemDetailInfo = itemDetailInfo;
+        this.takePlace = takePlace;
+        this.takePosition = takePosition;
+        this.regDate = regDate;
+        this.getDate = getDate;
+    }
+
+    /**
+     * 저장 대상 컬럼(상태, 종류, 이름, 장소, 일자)의 hash. 값이 같으면 update 를 생략한다.
+     */
+    public String fingerprint() {
+        String source = String.join("\u001F",
+                String.valueOf(status), String.valueOf(category), String.valueOf(itemName), String.valueOf(itemDetailInfo),
+                String.valueOf(takePlace), String.valueOf(takePosition), String.valueOf(regDate), String.valueOf(getDate));
+        return DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8));
+    }
+}
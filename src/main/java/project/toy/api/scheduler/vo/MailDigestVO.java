@@ -0,0 +1,19 @@
+package project.toy.api.scheduler.vo;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 매칭 작업 1회 동안 한 수신자에게 매칭된 분실물 전체. 메일 1통으로 보낸다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MailDigestVO {
+
+    private String email;
+
+    private List<SendMailVO> items;
+}
@@ -1,14 +1,24 @@
 package project.toy.api.scheduler.vo;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import project.toy.api.domain.LostCategory;
 import project.toy.api.domain.LostStatus;
 
 @Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
 public class MatchingItemVO {
 
     private Long memberLostItemId;
 
+    private String lostItemId;          // 분실물 SEQ
+
+    private String email;               // 회원 email
+
     private LostStatus status;          // 분실물 상태
 
     private LostCategory category;      // 분실물 종류
@@ -0,0 +1,52 @@
+package project.toy.api.scheduler.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.MemberLostItem;
+
+/**
+ * MemberLostItemIndex 에 보관하는 회원 분실물 검색 조건. entity 대신 필요한 값만 복사해 둔다.
+ */
+@Getter
+public class MemberLostItemQueryVO {
+
+    private final Long memberLostItemId;
+
+    private final String email;
+
+    private final LostCategory category;      // 분실물 종류
+
+    private final String itemName;            // 분실물명
+
+    private final String itemDetailInfo;      // 분실물 상세내용
+
+    @Builder
+    public MemberLostItemQueryVO(Long memberLostItemId, String email, LostCategory category, String itemName, String itemDetailInfo) {
+        this.memberLostItemId = memberLostItemId;
+        this.email = email;
+        this.category = category;
+        this.itemName = itemName;
+        this.itemDetailInfo = itemDetailInfo;
+    }
+
+    public static MemberLostItemQueryVO of(MemberLostItem memberLostItem) {
+        return MemberLostItemQueryVO.builder()
+                .memberLostItemId(memberLostItem.getId())
+                .email(memberLostItem.getMember().getEmail())
+                .category(memberLostItem.getCategory())
+                .itemName(memberLostItem.getItemName())
+                .itemDetailInfo(memberLostItem.getItemDetailInfo())
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return "MemberLostItemQueryVO{" +
+                "memberLostItemId=" + memberLostItemId +
+                ", category=" + category +
+                ", itemName='" + itemName + '\'' +
+                ", itemDetailInfo='" + itemDetailInfo + '\'' +
+                '}';
+    }
+}
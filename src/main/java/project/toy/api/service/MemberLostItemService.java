@@ -1,21 +1,38 @@
 package project.toy.api.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import project.toy.api.config.security.SecurityUtils;
 import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.MatchLedger;
 import project.toy.api.domain.Member;
 import project.toy.api.domain.MemberLostItem;
 import project.toy.api.exception.MemberLostItemNotFound;
 import project.toy.api.exception.MemberNotFound;
+import project.toy.api.repository.MatchLedgerRepository;
 import project.toy.api.repository.MemberLostItemRepository;
 import project.toy.api.repository.MemberRepository;
 import project.toy.api.request.MemberLostItemCreate;
 import project.toy.api.request.MemberLostItemEdit;
+import project.toy.api.response.MatchingLostItemResponse;
+import project.toy.api.response.MemberLostItemResponse;
+import project.toy.api.scheduler.service.ImmediateMatcher;
+import project.toy.api.scheduler.service.MatchScorer;
+import project.toy.api.scheduler.service.MemberLostItemIndex;
+import project.toy.api.scheduler.service.SchedulerService;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static project.toy.api.config.security.SecurityUtils.currentMemberId;
 
+@Slf4j
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -23,9 +40,13 @@ public class MemberLostItemService {
 
     private final MemberRepository memberRepository;
     private final MemberLostItemRepository memberLostItemRepository;
+    private final MatchLedgerRepository matchLedgerRepository;
+    private final MemberLostItemIndex memberLostItemIndex;
+    private final SchedulerService schedulerService;
+    private final ImmediateMatcher immediateMatcher;
 
     @Transactional
-    public void save(MemberLostItemCreate memberLostItemCreate) {
+    public MemberLostItemResponse save(MemberLostItemCreate memberLostItemCreate) {
         Long memberId = SecurityUtils.currentMemberId();
         Member findMember = memberRepository.findById(memberId)
                 .orElseThrow(MemberNotFound::new);
@@ -38,10 +59,12 @@ public class MemberLostItemService {
                 .build();
 
         memberLostItemRepository.save(memberLostItem);
+        memberLostItemIndex.put(memberLostItem);
+        return match(memberLostItem);
     }
 
     @Transactional
-    public MemberLostItem edit(Long id, MemberLostItemEdit editData) {
+    public MemberLostItemResponse edit(Long id, MemberLostItemEdit editData) {
 
         MemberLostItem findMemberLostItem = memberLostItemRepository.findById(id)
                 .orElseThrow(MemberLostItemNotFound::new);
@@ -50,7 +73,74 @@ public class MemberLostItemService {
             throw new IllegalStateException("회원 정보가 일치하지 않습니다.");
         }
 
+        memberLostItemIndex.remove(id);     // 수정 전 조건은 바로 빼고 수정된 조건은 commit 이후 색인
         findMemberLostItem.edit(LostCategory.getKey(editData.getCategory()), editData.getItemName(), editData.getItemDetailInfo());
-        return findMemberLostItem;
+        memberLostItemIndex.put(findMemberLostItem);
+        return match(findMemberLostItem);
+    }
+
+    /**
+     * 저장된 분실물 중 조건에 맞는 분실물을 바로 찾아 응답에 담는다. 응답으로 알린 분실물은 메일로 다시 보내지 않도록 match ledger 에 기록.
+     * ledger 는 등록/수정과 같은 트랜잭션에서 기록하므로, commit 이후 색인에 반영된 조건으로 도는 매칭 작업은 이 쌍을 이미 알린 것으로 본다.
+     * 시간 안에 매칭하지 못하면 commit 이후 매칭 executor 에서 재매칭해서 메일로 보낸다. (응답은 기다리지 않음)
+     */
+    private MemberLostItemResponse match(MemberLostItem memberLostItem) {
+        Optional<List<MatchScorer.Scored>> matched = immediateMatcher.match(memberLostItem);
+
+        List<MatchingLostItemResponse> matchingLostItems = matched.orElse(List.of()).stream()
+                .map(this::matchingLostItem)
+                .collect(Collectors.toList());
+        if (matched.isPresent()) {
+            recordNotified(memberLostItem.getId(), matchingLostItems);
+        } else {
+            rematchAfterCommit(memberLostItem.getId());
+        }
+
+        return MemberLostItemResponse.builder()
+                .id(memberLostItem.getId())
+                .category(memberLostItem.getCategory() == null ? null : memberLostItem.getCategory().getValue())
+                .itemName(memberLostItem.getItemName())
+                .itemDetailInfo(memberLostItem.getItemDetailInfo())
+                .matched(matched.isPresent())
+                .matchingLostItems(matchingLostItems)
+                .build();
+    }
+
+    // 수정 전 조건으로 이미 알린 쌍은 건너뛴다
+    private void recordNotified(Long id, List<MatchingLostItemResponse> matchingLostItems) {
+        for (MatchingLostItemResponse matchingLostItem : matchingLostItems) {
+            if (!matchLedgerRepository.existsById(new MatchLedger.Key(id, matchingLostItem.getLostItemId()))) {
+                matchLedgerRepository.save(new MatchLedger(id, matchingLostItem.getLostItemId()));
+            }
+        }
+    }
+
+    private void rematchAfterCommit(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    schedulerService.rematchMemberLostItem(id);
+                } catch (Exception e) {
+                    // 비동기 실행이라 여기서는 작업 등록 실패만 잡힌다. 등록/수정은 이미 반영되었으므로 응답에 영향을 주지 않음
+                    log.error("errorMessage", e);
+                }
+            }
+        });
+    }
+
+    private MatchingLostItemResponse matchingLostItem(MatchScorer.Scored scored) {
+        LostItem lostItem = scored.getLostItem();
+        return MatchingLostItemResponse.builder()
+                .lostItemId(lostItem.getId())
+                .status(lostItem.getStatus() == null ? null : lostItem.getStatus().getValue())
+                .category(lostItem.getCategory() == null ? null : lostItem.getCategory().getValue())
+                .itemName(lostItem.getItemName())
+                .itemDetailInfo(lostItem.getItemDetailInfo())
+                .takePlace(lostItem.getTakePlace())
+                .takePosition(lostItem.getTakePosition())
+                .getDate(lostItem.getGetDate())
+                .score(scored.getScore())
+                .build();
     }
 }
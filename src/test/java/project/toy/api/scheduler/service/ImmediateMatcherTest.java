@@ -0,0 +1,94 @@
+package project.toy.api.scheduler.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.domain.Member;
+import project.toy.api.domain.MemberLostItem;
+import project.toy.api.repository.LostItemRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImmediateMatcherTest {
+
+    LostItemRepository lostItemRepository = mock(LostItemRepository.class);
+    MatchScorer matchScorer = new MatchScorer();
+    ImmediateMatcher immediateMatcher = new ImmediateMatcher(lostItemRepository, matchScorer, new MatchingMetrics(new SimpleMeterRegistry()));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(matchScorer, "topK", 5);
+        ReflectionTestUtils.setField(matchScorer, "threshold", 0.6);
+        ReflectionTestUtils.setField(immediateMatcher, "budgetMillis", 50L);
+        ReflectionTestUtils.setField(immediateMatcher, "candidateLimit", 200);
+        ReflectionTestUtils.setField(immediateMatcher, "poolSize", 1);
+        immediateMatcher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        immediateMatcher.destroy();
+    }
+
+    @Test
+    @DisplayName("후보 분실물을 점수 높은 순으로 반환")
+    void match() {
+        // given
+        when(lostItemRepository.findCandidates(any(), anyInt())).thenReturn(List.of(
+                lostItem("1", "갤럭시 S22 케이스"),
+                lostItem("2", "갤럭시S22"),
+                lostItem("3", "아이폰")));
+
+        // when
+        Optional<List<MatchScorer.Scored>> matched = immediateMatcher.match(memberLostItem());
+
+        // then
+        assertThat(matched).isPresent();
+        assertThat(matched.get().stream().map(scored -> scored.getLostItem().getId()).collect(Collectors.toList()))
+                .containsExactlyInAnyOrder("1", "2");
+    }
+
+    @Test
+    @DisplayName("시간 안에 후보 조회가 끝나지 않으면 매칭을 포기")
+    void timeout() {
+        // given
+        when(lostItemRepository.findCandidates(any(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return List.of(lostItem("1", "갤럭시S22"));
+        });
+
+        // expected
+        assertThat(immediateMatcher.match(memberLostItem())).isEmpty();
+    }
+
+    private MemberLostItem memberLostItem() {
+        return MemberLostItem.builder()
+                .member(Member.builder().email("test@test.com").build())
+                .category(LostCategory.MOBILE)
+                .itemName("갤럭시S22")
+                .build();
+    }
+
+    private LostItem lostItem(String id, String itemName) {
+        return LostItem.builder()
+                .id(id)
+                .status(LostStatus.KEEP)
+                .category(LostCategory.MOBILE)
+                .itemName(itemName)
+                .build();
+    }
+}
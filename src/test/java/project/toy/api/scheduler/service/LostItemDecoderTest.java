@@ -0,0 +1,62 @@
+package project.toy.api.scheduler.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toy.api.scheduler.vo.LostItemRowVO;
+import project.toy.api.scheduler.vo.LostItemVO;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LostItemDecoderTest {
+
+    LostItemDecoder lostItemDecoder = new LostItemDecoder();
+
+    @Test
+    @DisplayName("lostArticleInfo row 스트리밍 decode")
+    void decode() throws IOException {
+        // given
+        String json = "{\"lostArticleInfo\":{\"list_total_count\":2,"
+                + "\"RESULT\":{\"CODE\":\"INFO-000\",\"MESSAGE\":\"정상 처리되었습니다\"},"
+                + "\"row\":["
+                + "{\"ID\":\"101\",\"TAKE_ID\":\"x\",\"STATUS\":\"보관\",\"CATE\":\"핸드폰\",\"GET_NAME\":\"갤럭시\",\"GET_THING\":\"검정색\","
+                + "\"TAKE_PLACE\":\"버스\",\"GET_POSITION\":\"상진운수\",\"REG_DATE\":\"2023-02-01\",\"GET_DATE\":\"2023-01-31\",\"READ_CNT\":3},"
+                + "{\"ID\":\"102\",\"STATUS\":\"수령\",\"CATE\":\"지갑\",\"GET_NAME\":\"지갑\",\"GET_THING\":null}"
+                + "]}}";
+        List<LostItemRowVO> rows = new ArrayList<>();
+
+        // when
+        LostItemVO header = lostItemDecoder.decode(new StringReader(json), rows::add);
+
+        // then
+        assertThat(header.getList_total_count()).isEqualTo("2");
+        assertThat(header.getRESULT().getCODE()).isEqualTo("INFO-000");
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getId()).isEqualTo("101");
+        assertThat(rows.get(0).getStatus()).isEqualTo("보관");
+        assertThat(rows.get(0).getCategory()).isEqualTo("핸드폰");
+        assertThat(rows.get(0).getItemName()).isEqualTo("갤럭시");
+        assertThat(rows.get(0).getTakePosition()).isEqualTo("상진운수");
+        assertThat(rows.get(1).getItemDetailInfo()).isNull();
+    }
+
+    @Test
+    @DisplayName("조회 결과가 없을 때 RESULT 만 decode")
+    void decodeNoData() throws IOException {
+        // given
+        String json = "{\"RESULT\":{\"CODE\":\"INFO-200\",\"MESSAGE\":\"해당하는 데이터가 없습니다.\"}}";
+        List<LostItemRowVO> rows = new ArrayList<>();
+
+        // when
+        LostItemVO header = lostItemDecoder.decode(new StringReader(json), rows::add);
+
+        // then
+        assertThat(header.getRESULT().getCODE()).isEqualTo("INFO-200");
+        assertThat(header.getList_total_count()).isNull();
+        assertThat(rows).isEmpty();
+    }
+}
@@ -0,0 +1,151 @@
+package project.toy.api.scheduler.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import project.toy.api.domain.JobCheckpoint;
+import project.toy.api.exception.PublicApiFail;
+import project.toy.api.repository.JobCheckpointRepository;
+import project.toy.api.repository.LostItemRepository;
+import project.toy.api.scheduler.stub.LostItemApiStub;
+import project.toy.api.scheduler.vo.IngestResultVO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LostItemApiStub 으로 네트워크 없이 적재 경로를 확인한다.
+ * 처리량 측정은 -Dstub.rows=1000000 처럼 건수를 늘려 실행한다.
+ * backfill 은 batch 마다 commit 되므로 rollback 대신 별도 in-memory DB 를 사용한다.
+ */
+@Slf4j
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LostItemIngestStubTest {
+
+    static final int ROWS = Integer.getInteger("stub.rows", 10_000);
+
+    static final LostItemApiStub stub = start();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        // 적재한 stub 분실물이 공유 DB (~/toy) 에 commit 되어 남지 않도록 이 테스트만 쓰는 in-memory DB 에 schema 를 만들어 사용
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:lost-item-stub;DB_CLOSE_DELAY=-1");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("publicData.lostItem.baseUrl", stub::getBaseUrl);
+        registry.add("publicData.lostItem.retryBackoffMillis", () -> 10);
+        registry.add("publicData.lostItem.circuitBreaker.failureThreshold", () -> 1);
+        registry.add("publicData.lostItem.circuitBreaker.openMillis", () -> 60_000);
+    }
+
+    @Autowired
+    LostItemBackfill lostItemBackfill;
+
+    @Autowired
+    LostItemApiClient lostItemApiClient;
+
+    @Autowired
+    LostItemRepository lostItemRepository;
+
+    @Autowired
+    JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        stub.totalCount(ROWS).latencyMillis(0).errorRate(0).failNext(0).gzip(false);
+        jobCheckpointRepository.findById(JobCheckpoint.BACKFILL).ifPresent(jobCheckpointRepository::delete);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("stub 전체 backfill 처리량")
+    void backfillThroughput() {
+        // given
+        stub.gzip(true).latencyMillis(20);
+
+        // when
+        long started = System.nanoTime();
+        lostItemBackfill.backfill();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // then
+        log.info("backfill rows={}, elapsed={}ms, rows/s={}, requests={}", ROWS, elapsedMillis, ROWS * 1000L / Math.max(1, elapsedMillis), stub.getRequests());
+        assertThat(jobCheckpointRepository.findById(JobCheckpoint.BACKFILL).get().getCompletedIndex()).isEqualTo(ROWS);
+        assertThat(lostItemRepository.existsById(LostItemApiStub.id(ROWS))).isTrue();
+    }
+
+    @Test
+    @DisplayName("적재 단계별 metric 기록")
+    void metrics() {
+        // given
+        double decoded = meterRegistry.counter("lostitem.ingest.rows.decoded").count();
+
+        // when
+        lostItemBackfill.backfill();
+
+        // then
+        assertThat(meterRegistry.counter("lostitem.ingest.rows.decoded").count() - decoded).isEqualTo(ROWS);
+        assertThat(meterRegistry.get("lostitem.ingest.upstream.latency").tag("outcome", "success").timer().count()).isPositive();
+        assertThat(meterRegistry.get("lostitem.ingest.upstream.bytes").summary().totalAmount()).isPositive();
+        assertThat(meterRegistry.get("lostitem.ingest.persist").timer().count()).isPositive();
+        assertThat(meterRegistry.get("lostitem.ingest.run").tag("job", "backfill").tag("outcome", "success").timer().count()).isPositive();
+        assertThat(meterRegistry.get("lostitem.ingest.last.success").tag("job", "backfill").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("간헐적 500 응답은 재시도로 복구")
+    void retryOnError() {
+        // given
+        stub.failNext(2);
+
+        // when
+        IngestResultVO result = new IngestResultVO();
+        lostItemApiClient.call(1, 100, row -> result.add(new IngestResultVO(1, 0, 0)));
+
+        // then
+        assertThat(result.getInserted()).isEqualTo(100);
+    }
+
+    @Test
+    @Order(Integer.MAX_VALUE)   // circuit 이 열린 채로 남으므로 마지막에 실행
+    @DisplayName("계속 실패하면 circuit 이 열려 바로 실패")
+    void circuitOpen() {
+        // given
+        stub.errorRate(1.0);
+        assertThatThrownBy(() -> lostItemApiClient.call(1, 10, row -> {})).isInstanceOf(PublicApiFail.class);
+        long requests = stub.getRequests();
+
+        // expected
+        stub.errorRate(0);
+        assertThatThrownBy(() -> lostItemApiClient.call(1, 10, row -> {})).isInstanceOf(PublicApiFail.class);
+        assertThat(stub.getRequests()).isEqualTo(requests);
+    }
+
+    private static LostItemApiStub start() {
+        try {
+            return new LostItemApiStub(ROWS);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
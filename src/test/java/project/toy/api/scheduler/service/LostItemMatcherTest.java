@@ -0,0 +1,85 @@
+package project.toy.api.scheduler.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.scheduler.vo.MemberLostItemQueryVO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LostItemMatcherTest {
+
+    MemberLostItemIndex memberLostItemIndex = new MemberLostItemIndex(null);
+    MatchScorer matchScorer = new MatchScorer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(matchScorer, "topK", 3);
+        ReflectionTestUtils.setField(matchScorer, "threshold", 0.6);
+
+        long id = 1;
+        for (LostCategory category : LostCategory.values()) {
+            memberLostItemIndex.put(MemberLostItemQueryVO.builder()
+                    .memberLostItemId(id++)
+                    .category(category)
+                    .itemName(category.getValue() + "분실")
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("종류별 병렬 매칭 결과는 순차 매칭과 같음")
+    void parallelEqualsSequential() {
+        // given
+        List<LostItem> lostItems = IntStream.range(0, 1000)
+                .mapToObj(i -> {
+                    LostCategory category = LostCategory.values()[i % LostCategory.values().length];
+                    return LostItem.builder()
+                            .id(String.valueOf(i))
+                            .status(LostStatus.KEEP)
+                            .category(category)
+                            .itemName(category.getValue() + (i % 3 == 0 ? "분실" : "습득") + i)
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        // when
+        Map<Long, List<String>> sequential = match(1, lostItems);
+        Map<Long, List<String>> parallel = match(4, lostItems);
+
+        // then
+        assertThat(parallel).hasSize(LostCategory.values().length);
+        assertThat(parallel).isEqualTo(sequential);
+    }
+
+    private Map<Long, List<String>> match(int parallelism, List<LostItem> lostItems) {
+        LostItemMatcher lostItemMatcher = new LostItemMatcher(memberLostItemIndex, matchScorer);
+        ReflectionTestUtils.setField(lostItemMatcher, "parallelism", parallelism);
+        lostItemMatcher.init();
+        try {
+            LostItemMatcher.Partitions partitions = lostItemMatcher.partitions();
+            partitions.offer(lostItems.subList(0, 500), Map.of());
+            partitions.offer(lostItems.subList(500, lostItems.size()), Map.of("999", Set.of(1L)));
+
+            List<MatchScorer.TopK> topKs = new ArrayList<>(partitions.topKs());
+            return topKs.stream()
+                    .flatMap(topK -> topK.queries().stream().map(query -> Map.entry(query.getMemberLostItemId(), topK.results(query).stream()
+                            .map(scored -> scored.getLostItem().getId())
+                            .collect(Collectors.toList()))))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        } finally {
+            lostItemMatcher.destroy();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package project.toy.api.scheduler.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import project.toy.api.domain.JobCheckpoint;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.LostItemGram;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.domain.MemberLostItem;
+import project.toy.api.repository.JobCheckpointRepository;
+import project.toy.api.repository.LostItemRepository;
+import project.toy.api.repository.MemberRepository;
+import project.toy.api.scheduler.vo.IngestResultVO;
+import project.toy.api.scheduler.vo.LostItemRowVO;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+@Transactional
+class LostItemWriterTest {
+
+    static final int ROWS = 1000;
+
+    @Autowired
+    LostItemWriter lostItemWriter;
+
+    @Autowired
+    LostItemRepository lostItemRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("분실물 1,000건 저장 round trip 비교 (건별 findById + saveAll vs bulk upsert)")
+    void roundTripsPer1000Rows() {
+        // given
+        List<LostItemRowVO> legacyRows = rows("LEGACY-", "보관");
+        List<LostItemRowVO> bulkRows = rows("BULK-", "보관");
+
+        // when
+        long legacyInsert = statements(() -> legacySave(legacyRows));
+        long legacyUpdate = statements(() -> legacySave(rows("LEGACY-", "수령")));
+        long bulkInsert = statements(() -> lostItemWriter.save(bulkRows));
+        long bulkUpdate = statements(() -> lostItemWriter.save(rows("BULK-", "수령")));
+
+        // then
+        log.info("rows={}, legacy insert={}, legacy update={}, bulk insert={}, bulk update={}",
+                ROWS, legacyInsert, legacyUpdate, bulkInsert, bulkUpdate);
+        assertThat(bulkInsert).isLessThan(legacyInsert);
+        assertThat(bulkUpdate).isLessThan(legacyUpdate);
+        assertThat(lostItemRepository.findById("BULK-1").get().getStatus()).isEqualTo(LostStatus.RECEIVE);
+    }
+
+    @Test
+    @DisplayName("fingerprint 가 같은 분실물은 update 생략")
+    void skipUnchanged() {
+        // given
+        lostItemWriter.save(rows("SKIP-", "보관"));
+
+        // when
+        IngestResultVO unchanged = lostItemWriter.save(rows("SKIP-", "보관"));
+        IngestResultVO changed = lostItemWriter.save(rows("SKIP-", "수령"));
+
+        // then
+        assertThat(unchanged.getSkipped()).isEqualTo(ROWS);
+        assertThat(unchanged.getInserted() + unchanged.getUpdated()).isZero();
+        assertThat(changed.getUpdated()).isEqualTo(ROWS);
+    }
+
+    @Test
+    @DisplayName("bi-gram 색인으로 띄어쓰기가 달라도 후보 조회, 겹치는 조각이 없는 분실물은 제외, 변경 시 색인 갱신")
+    void gramIndex() {
+        // given
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(JobCheckpoint.GRAM_INDEX)
+                .orElseGet(() -> new JobCheckpoint(JobCheckpoint.GRAM_INDEX));
+        checkpoint.complete(checkpoint.getTargetIndex());      // 색인 완료 전에는 LIKE 로만 찾으므로 완료 처리
+        jobCheckpointRepository.save(checkpoint);
+        lostItemWriter.save(List.of(row("GRAM-1", "갤럭시 S22 울트라", "검정 케이스"), row("GRAM-2", "아이폰", "검정")));
+        MemberLostItem memberLostItem = MemberLostItem.builder()
+                .member(memberRepository.findById(1L).get())
+                .category(LostCategory.WALLET)
+                .itemName("갤럭시S22")      // LIKE '%갤럭시S22%' 로는 "갤럭시 S22 울트라" 를 찾지 못함
+                .build();
+
+        // when
+        List<LostItem> before = lostItemRepository.findCandidates(memberLostItem, 1000);
+        lostItemWriter.save(List.of(row("GRAM-1", "아이폰", "검정 케이스")));
+        List<LostItem> after = lostItemRepository.findCandidates(memberLostItem, 1000);
+
+        // then
+        assertThat(LostItemGram.grams("갤럭시 S22")).containsExactly("갤럭", "럭시", "시s", "s2", "22");
+        assertThat(before).extracting(LostItem::getId)
+                .contains("GRAM-1")
+                .doesNotContain("GRAM-2");
+        assertThat(after).extracting(LostItem::getId).doesNotContain("GRAM-1", "GRAM-2");
+    }
+
+    private LostItemRowVO row(String id, String itemName, String itemDetailInfo) {
+        return LostItemRowVO.builder()
+                .id(id)
+                .status("보관")
+                .category("지갑")
+                .itemName(itemName)
+                .itemDetailInfo(itemDetailInfo)
+                .build();
+    }
+
+    private long statements(Runnable runnable) {
+        statistics.clear();
+        runnable.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // 변경 전 LostItemWriter.save 방식
+    private void legacySave(List<LostItemRowVO> rows) {
+        List<LostItem> lostItems = new ArrayList<>();
+        for (LostItemRowVO apiData : rows) {
+            LostItem findLostItem = lostItemRepository.findById(apiData.getId())
+                    .orElseGet(LostItem::new);
+            if (findLostItem.getId() == null) {
+                findLostItem.setId(apiData.getId());
+            }
+            findLostItem.setStatus(LostStatus.getKey(apiData.getStatus()));
+            findLostItem.setCategory(LostCategory.getKey(apiData.getCategory()));
+            findLostItem.setItemName(apiData.getItemName());
+            lostItems.add(findLostItem);
+        }
+        lostItemRepository.saveAll(lostItems);
+        em.flush();
+        em.clear();
+    }
+
+    private List<LostItemRowVO> rows(String prefix, String status) {
+        return IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> LostItemRowVO.builder()
+                        .id(prefix + i)
+                        .status(status)
+                        .category("지갑")
+                        .itemName("지갑" + i)
+                        .itemDetailInfo("검정색")
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
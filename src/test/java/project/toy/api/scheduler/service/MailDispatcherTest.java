@@ -0,0 +1,147 @@
+package project.toy.api.scheduler.service;
+
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.annotation.Transactional;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.domain.MailOutbox;
+import project.toy.api.domain.MailOutboxStatus;
+import project.toy.api.repository.MailOutboxRepository;
+import project.toy.api.scheduler.vo.MailDigestVO;
+import project.toy.api.scheduler.vo.SendMailVO;
+
+import javax.mail.SendFailedException;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "publicData.lostItem.mail.throttlePauseSeconds=0")    // 앞 테스트의 발송 제한으로 멈추지 않도록
+@Transactional
+class MailDispatcherTest {
+
+    @Autowired
+    MailDispatcher mailDispatcher;
+
+    @Autowired
+    MailOutboxService mailOutboxService;
+
+    @Autowired
+    MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    MailRateLimiter mailRateLimiter;
+
+    @MockBean
+    SendMail sendMail;
+
+    @Test
+    @DisplayName("발송 실패한 메일만 대기 상태로 남겨 나중에 다시 보내고, 발송 제한도 시도 횟수에 넣음")
+    void dispatch() {
+        // given
+        mailOutboxService.enqueue(mail("ok@test.com"));
+        mailOutboxService.enqueue(mail("fail@test.com"));
+        mailOutboxService.enqueue(mail("busy@test.com"));
+        when(sendMail.sendBatch(any())).thenAnswer(invocation -> {
+            List<MailDigestVO> digests = invocation.getArgument(0);
+            Map<Integer, Exception> failures = new HashMap<>();
+            for (int i = 0; i < digests.size(); i++) {
+                if ("fail@test.com".equals(digests.get(i).getEmail())) {
+                    failures.put(i, new MailSendException("550 mailbox unavailable"));
+                }
+                if ("busy@test.com".equals(digests.get(i).getEmail())) {
+                    failures.put(i, new MailSendException("421 4.7.0 Try again later"));
+                }
+            }
+            return failures;
+        });
+
+        // when
+        mailDispatcher.dispatch();
+
+        // then
+        Map<String, MailOutbox> outboxes = mailOutboxRepository.findAll().stream()
+                .collect(Collectors.toMap(MailOutbox::getEmail, Function.identity(), (a, b) -> b));
+        assertThat(outboxes.get("ok@test.com").getStatus()).isEqualTo(MailOutboxStatus.SENT);
+        assertThat(outboxes.get("fail@test.com").getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        assertThat(outboxes.get("fail@test.com").getAttempts()).isEqualTo(1);
+        assertThat(outboxes.get("fail@test.com").getLastError()).contains("550");
+        assertThat(outboxes.get("busy@test.com").getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        assertThat(outboxes.get("busy@test.com").getAttempts()).isEqualTo(1);   // 계속 제한되면 DEAD 가 되도록
+        assertThat(mailOutboxService.findDispatchable(100)).isEmpty();    // backoff 동안은 다시 꺼내지 않음
+    }
+
+    @Test
+    @DisplayName("수신함이 가득 찬 수신자 (RCPT 452) 는 발송 제한이 아닌 실패로 처리하고 발송 속도를 줄이지 않음")
+    void mailboxFull() throws AddressException {
+        // given
+        double rate = mailRateLimiter.rate();
+        int remainingToday = mailRateLimiter.remainingToday();
+        mailOutboxService.enqueue(mail("full@test.com"));
+        SMTPAddressFailedException mailboxFull = new SMTPAddressFailedException(
+                new InternetAddress("full@test.com"), "RCPT TO:<full@test.com>", 452, "452 4.2.2 Mailbox full");
+        when(sendMail.sendBatch(any())).thenAnswer(invocation -> {
+            List<MailDigestVO> digests = invocation.getArgument(0);
+            Map<Integer, Exception> failures = new HashMap<>();
+            for (int i = 0; i < digests.size(); i++) {
+                if ("full@test.com".equals(digests.get(i).getEmail())) {
+                    failures.put(i, new MailSendException("send failed", new SendFailedException("Invalid Addresses", mailboxFull)));
+                }
+            }
+            return failures;
+        });
+
+        // when
+        int sent = mailDispatcher.dispatch();
+
+        // then
+        MailOutbox outbox = mailOutboxRepository.findAll().stream()
+                .filter(mail -> "full@test.com".equals(mail.getEmail()))
+                .findFirst()
+                .get();
+        assertThat(outbox.getAttempts()).isEqualTo(1);
+        assertThat(outbox.getLastError()).contains("Invalid Addresses");
+        assertThat(mailRateLimiter.rate()).isGreaterThanOrEqualTo(rate);
+        assertThat(mailRateLimiter.remainingToday()).isEqualTo(remainingToday - sent);   // 보내지 못한 메일은 일일 한도에서 빼지 않음
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수만큼 실패하면 DEAD")
+    void dead() {
+        // given
+        MailOutbox outbox = new MailOutbox("fail@test.com", "{}", "2023/01/01 00:00:00");
+
+        // when
+        outbox.failed("550", "2023/01/01 00:01:00", 2);
+        outbox.failed("550", "2023/01/01 00:03:00", 2);
+
+        // then
+        assertThat(outbox.getStatus()).isEqualTo(MailOutboxStatus.DEAD);
+        assertThat(outbox.getAttempts()).isEqualTo(2);
+    }
+
+    private MailDigestVO mail(String email) {
+        return MailDigestVO.builder()
+                .email(email)
+                .items(List.of(SendMailVO.builder()
+                        .email(email)
+                        .status(LostStatus.KEEP)
+                        .category(LostCategory.TOY)
+                        .itemName("닌텐도")
+                        .build()))
+                .build();
+    }
+}
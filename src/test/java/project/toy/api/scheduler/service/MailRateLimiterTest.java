@@ -0,0 +1,71 @@
+package project.toy.api.scheduler.service;
+
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class MailRateLimiterTest {
+
+    MailRateLimiter mailRateLimiter = new MailRateLimiter(() -> 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(mailRateLimiter, "perSecond", 5.0);
+        ReflectionTestUtils.setField(mailRateLimiter, "dailyQuota", 7);
+        ReflectionTestUtils.setField(mailRateLimiter, "pauseSeconds", 0L);
+    }
+
+    @Test
+    @DisplayName("초당 한도만큼 받은 뒤에는 token 이 채워질 때까지 기다리고, 일일 한도를 넘으면 받지 못함")
+    void acquire() throws InterruptedException {
+        // when
+        int first = mailRateLimiter.acquire(10);
+        long started = System.nanoTime();
+        int second = mailRateLimiter.acquire(5);
+        long waitedMillis = (System.nanoTime() - started) / 1_000_000;
+        int third = mailRateLimiter.acquire(1);
+
+        // then
+        assertThat(first).isEqualTo(5);         // bucket 크기
+        assertThat(second).isEqualTo(2);        // 일일 한도 7건 중 남은 건수
+        assertThat(waitedMillis).isGreaterThanOrEqualTo(300);     // 2건 / 초당 5건 = 400ms
+        assertThat(third).isZero();
+        assertThat(mailRateLimiter.remainingToday()).isZero();
+    }
+
+    @Test
+    @DisplayName("4xx 응답을 받으면 발송 속도를 절반으로 줄이고 성공할수록 회복")
+    void throttled() {
+        // when
+        mailRateLimiter.throttled();
+        double throttledRate = mailRateLimiter.rate();
+        mailRateLimiter.succeeded(5);
+
+        // then
+        assertThat(throttledRate).isEqualTo(2.5);
+        assertThat(mailRateLimiter.rate()).isCloseTo(3.0, offset(0.001));
+    }
+
+    @Test
+    @DisplayName("연결/세션 단계 SMTP 4xx 응답만 발송 제한으로 판단 (수신자별 RCPT 실패 제외)")
+    void isThrottled() throws AddressException {
+        // expected
+        assertThat(MailRateLimiter.isThrottled(new MailSendException("421 4.7.0 Try again later"))).isTrue();
+        assertThat(MailRateLimiter.isThrottled(new MailSendException("send failed", new MessagingException("452 4.5.3 Too many recipients")))).isTrue();
+        assertThat(MailRateLimiter.isThrottled(new MessagingException("550 5.1.1 User unknown"))).isFalse();
+        assertThat(MailRateLimiter.isThrottled(new SendFailedException("Invalid Addresses",
+                new SMTPAddressFailedException(new InternetAddress("full@test.com"), "RCPT TO:<full@test.com>", 452, "452 4.2.2 Mailbox full")))).isFalse();
+        assertThat(MailRateLimiter.isThrottled(new IllegalStateException("connection refused"))).isFalse();
+    }
+}
@@ -0,0 +1,109 @@
+package project.toy.api.scheduler.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.scheduler.vo.MailDigestVO;
+import project.toy.api.scheduler.vo.SendMailVO;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+class MailTemplatesTest {
+
+    MailTemplates mailTemplates = templates();
+
+    @Test
+    @DisplayName("상태/종류는 한글 이름으로 출력하고 html 본문만 escape")
+    void match() {
+        // given
+        SendMailVO mail = item("<b>닌텐도</b> & 케이스");
+
+        // when
+        MailTemplates.Body body = mailTemplates.match(mail);
+
+        // then
+        assertThat(body.getText()).contains("<b>닌텐도</b> & 케이스", "종류: 장난감", "상태: 보관");
+        assertThat(body.getHtml()).contains("&lt;b&gt;닌텐도&lt;/b&gt; &amp; 케이스", "<td>보관</td>");
+        assertThat(body.getText()).doesNotContain("KEEP", "TOY", "null");
+    }
+
+    @Test
+    @DisplayName("digest 는 분실물마다 반복 출력")
+    void digest() {
+        // given
+        MailDigestVO digest = digest(3);
+
+        // when
+        MailTemplates.Body body = mailTemplates.digest(digest);
+
+        // then
+        assertThat(body.getText()).contains("3건", "1. 분실물0", "3. 분실물2");
+        assertThat(body.getHtml()).contains("<td>3</td><td>분실물2</td>");
+    }
+
+    @Test
+    @DisplayName("닫히지 않은 반복 구간은 compile 실패")
+    void compileFail() {
+        // expected
+        assertThatThrownBy(() -> MailTemplate.compile("test.html", "{{#items}}{{itemName}}"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("분실물 500건 digest 렌더링 비용")
+    void renderBenchmark() {
+        // given
+        MailDigestVO digest = digest(500);
+        for (int i = 0; i < 200; i++) {
+            mailTemplates.digest(digest);      // warm up
+        }
+
+        // when
+        int mails = 1000;
+        long started = System.nanoTime();
+        int length = 0;
+        for (int i = 0; i < mails; i++) {
+            length += mailTemplates.digest(digest).getHtml().length();
+        }
+        long nanosPerMail = (System.nanoTime() - started) / mails;
+
+        // then
+        log.info("digest items=500, render={} us/mail, html={} chars", nanosPerMail / 1000, length / mails);
+        assertThat(length).isPositive();
+    }
+
+    private MailDigestVO digest(int count) {
+        List<SendMailVO> items = IntStream.range(0, count)
+                .mapToObj(i -> item("분실물" + i))
+                .collect(Collectors.toList());
+        return MailDigestVO.builder()
+                .email("test@test.com")
+                .items(items)
+                .build();
+    }
+
+    private SendMailVO item(String itemName) {
+        return SendMailVO.builder()
+                .email("test@test.com")
+                .status(LostStatus.KEEP)
+                .category(LostCategory.TOY)
+                .itemName(itemName)
+                .itemDetailInfo("보관중입니다.")
+                .takePosition("영등포 경찰서")
+                .build();
+    }
+
+    private static MailTemplates templates() {
+        MailTemplates mailTemplates = new MailTemplates();
+        mailTemplates.init();
+        return mailTemplates;
+    }
+}
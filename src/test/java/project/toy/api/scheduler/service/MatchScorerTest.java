@@ -0,0 +1,83 @@
+package project.toy.api.scheduler.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.scheduler.vo.MemberLostItemQueryVO;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchScorerTest {
+
+    MatchScorer matchScorer = new MatchScorer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(matchScorer, "topK", 2);
+        ReflectionTestUtils.setField(matchScorer, "threshold", 0.6);
+    }
+
+    @Test
+    @DisplayName("띄어쓰기, 대소문자가 달라도 만점, 오타는 편집거리만큼 감점")
+    void score() {
+        // given
+        MemberLostItemQueryVO query = query("갤럭시S22");
+
+        // expected
+        assertThat(matchScorer.score(query, lostItem("1", LostStatus.KEEP, "갤럭시 s22 울트라"))).isEqualTo(1.0);
+        assertThat(matchScorer.score(query, lostItem("2", LostStatus.KEEP, "겔럭시 S22"))).isBetween(0.6, 1.0);
+        assertThat(matchScorer.score(query, lostItem("3", LostStatus.POLICE, "갤럭시 S22"))).isLessThan(1.0);
+        assertThat(matchScorer.score(query, lostItem("4", LostStatus.KEEP, "아이폰 14"))).isLessThan(0.6);
+        assertThat(matchScorer.score(query, lostItem("5", LostStatus.RECEIVE, "갤럭시 S22"))).isZero();
+    }
+
+    @Test
+    @DisplayName("회원 분실물별 threshold 이상 상위 topK 건만 점수순으로")
+    void topK() {
+        // given
+        MemberLostItemQueryVO query = query("갤럭시S22");
+        MatchScorer.TopK topK = matchScorer.topK();
+
+        // when
+        topK.offer(query, lostItem("1", LostStatus.POLICE, "갤럭시 S22"));
+        topK.offer(query, lostItem("2", LostStatus.KEEP, "갤럭시 S22"));
+        topK.offer(query, lostItem("3", LostStatus.KEEP, "겔럭시 S22"));
+        topK.offer(query, lostItem("4", LostStatus.KEEP, "아이폰 14"));
+
+        // then
+        assertThat(topK.results(query).stream()
+                .map(scored -> scored.getLostItem().getId())
+                .collect(Collectors.toList())).containsExactly("2", "1");
+    }
+
+    @Test
+    @DisplayName("부분 문자열 기준 편집거리")
+    void substringDistance() {
+        assertThat(MatchScorer.substringDistance("갤럭시", "삼성 갤럭시 폰")).isZero();
+        assertThat(MatchScorer.substringDistance("갤럭시", "삼성 겔럭시 폰")).isEqualTo(1);
+        assertThat(MatchScorer.substringDistance("갤럭시", "")).isEqualTo(3);
+    }
+
+    private MemberLostItemQueryVO query(String itemName) {
+        return MemberLostItemQueryVO.builder()
+                .memberLostItemId(1L)
+                .category(LostCategory.MOBILE)
+                .itemName(itemName)
+                .build();
+    }
+
+    private LostItem lostItem(String id, LostStatus status, String itemName) {
+        return LostItem.builder()
+                .id(id)
+                .status(status)
+                .category(LostCategory.MOBILE)
+                .itemName(itemName)
+                .build();
+    }
+}
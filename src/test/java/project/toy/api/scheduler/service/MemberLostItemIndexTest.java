@@ -0,0 +1,118 @@
+package project.toy.api.scheduler.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.scheduler.vo.MemberLostItemQueryVO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberLostItemIndexTest {
+
+    MemberLostItemIndex memberLostItemIndex = new MemberLostItemIndex(null);
+
+    @Test
+    @DisplayName("종류가 같고 글자 조각이 겹치는 조건만 점수 계산 후보")
+    void candidatesByCategoryAndGram() {
+        // given
+        memberLostItemIndex.put(query(1L, LostCategory.MOBILE, "갤럭시", null));
+        memberLostItemIndex.put(query(2L, LostCategory.MOBILE, "갤럭시", "검정"));
+        memberLostItemIndex.put(query(3L, LostCategory.MOBILE, "아이폰", null));
+        memberLostItemIndex.put(query(4L, LostCategory.WALLET, "갤럭시", null));
+        memberLostItemIndex.put(query(5L, LostCategory.MOBILE, "폰", null));
+        memberLostItemIndex.put(query(6L, LostCategory.MOBILE, null, "케이스"));
+        memberLostItemIndex.put(query(7L, LostCategory.MOBILE, null, null));
+
+        // when
+        List<Long> candidates = ids(memberLostItemIndex.candidates(lostItem(LostStatus.KEEP, "갤럭시 S22 폰", "흰색 케이스")));
+
+        // then
+        assertThat(candidates).containsExactlyInAnyOrder(1L, 2L, 5L, 6L, 7L);
+    }
+
+    @Test
+    @DisplayName("수령 완료된 분실물은 후보가 없음")
+    void receivedNotMatched() {
+        // given
+        memberLostItemIndex.put(query(1L, LostCategory.MOBILE, "갤럭시", null));
+
+        // expected
+        assertThat(memberLostItemIndex.candidates(lostItem(LostStatus.RECEIVE, "갤럭시", null))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("수정된 조건은 이전 조건으로 후보가 되지 않음")
+    void putReplaces() {
+        // given
+        memberLostItemIndex.put(query(1L, LostCategory.MOBILE, "갤럭시", null));
+
+        // when
+        memberLostItemIndex.put(query(1L, LostCategory.MOBILE, "아이폰", null));
+
+        // then
+        assertThat(memberLostItemIndex.size()).isEqualTo(1);
+        assertThat(memberLostItemIndex.candidates(lostItem(LostStatus.KEEP, "갤럭시", null))).isEmpty();
+        assertThat(ids(memberLostItemIndex.candidates(lostItem(LostStatus.KEEP, "아이폰 13", null)))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("색인에서 뺀 조건은 후보가 되지 않음")
+    void remove() {
+        // given
+        memberLostItemIndex.put(query(1L, LostCategory.MOBILE, "갤럭시", null));
+        memberLostItemIndex.put(query(2L, LostCategory.MOBILE, "갤럭시", null));
+
+        // when
+        memberLostItemIndex.remove(1L);
+
+        // then
+        assertThat(memberLostItemIndex.size()).isEqualTo(1);
+        assertThat(ids(memberLostItemIndex.candidates(lostItem(LostStatus.KEEP, "갤럭시", null)))).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("띄어쓰기가 달라도 글자 조각이 겹치면 점수 계산 후보")
+    void candidates() {
+        // given
+        memberLostItemIndex.put(query(1L, LostCategory.MOBILE, "갤럭시S22", null));
+        memberLostItemIndex.put(query(2L, LostCategory.MOBILE, "아이폰", null));
+
+        // when
+        LostItem lostItem = lostItem(LostStatus.KEEP, "갤럭시 S22", null);
+
+        // then
+        assertThat(ids(memberLostItemIndex.candidates(lostItem))).containsExactly(1L);
+    }
+
+    private MemberLostItemQueryVO query(Long id, LostCategory category, String itemName, String itemDetailInfo) {
+        return MemberLostItemQueryVO.builder()
+                .memberLostItemId(id)
+                .email("test" + id + "@test.com")
+                .category(category)
+                .itemName(itemName)
+                .itemDetailInfo(itemDetailInfo)
+                .build();
+    }
+
+    private LostItem lostItem(LostStatus status, String itemName, String itemDetailInfo) {
+        return LostItem.builder()
+                .id("1")
+                .status(status)
+                .category(LostCategory.MOBILE)
+                .itemName(itemName)
+                .itemDetailInfo(itemDetailInfo)
+                .build();
+    }
+
+    private List<Long> ids(Collection<MemberLostItemQueryVO> queries) {
+        return queries.stream()
+                .map(MemberLostItemQueryVO::getMemberLostItemId)
+                .collect(Collectors.toList());
+    }
+}
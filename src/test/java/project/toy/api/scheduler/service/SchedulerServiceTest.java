@@ -0,0 +1,209 @@
+package project.toy.api.scheduler.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+import project.toy.api.domain.JobCheckpoint;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostItem;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.domain.MatchLedger;
+import project.toy.api.domain.MemberLostItem;
+import project.toy.api.repository.JobCheckpointRepository;
+import project.toy.api.repository.LostItemRepository;
+import project.toy.api.repository.MailOutboxRepository;
+import project.toy.api.repository.MatchLedgerRepository;
+import project.toy.api.repository.MemberLostItemRepository;
+import project.toy.api.repository.MemberRepository;
+import project.toy.api.scheduler.vo.MailDigestVO;
+import project.toy.api.scheduler.vo.MemberLostItemQueryVO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "publicData.lostItem.matching.lagSeconds=-1")     // 방금 저장한 분실물도 매칭 구간에 들어가도록
+@Transactional
+class SchedulerServiceTest {
+
+    @Autowired
+    SchedulerService schedulerService;
+
+    @Autowired
+    LostItemRepository lostItemRepository;
+
+    @Autowired
+    MemberLostItemRepository memberLostItemRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MatchLedgerRepository matchLedgerRepository;
+
+    @Autowired
+    JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    MemberLostItemIndex memberLostItemIndex;
+
+    @MockBean
+    SendMail sendMail;
+
+    List<Long> indexed = new ArrayList<>();
+
+    // 색인은 트랜잭션과 무관한 singleton 이므로 rollback 된 회원 분실물을 다른 테스트가 매칭하지 않도록 뺀다.
+    // remove 는 트랜잭션 안에서 호출되면 rollback 시 되돌리므로 테스트 트랜잭션이 끝난 뒤 호출
+    @AfterTransaction
+    void removeIndexed() {
+        indexed.forEach(memberLostItemIndex::remove);
+    }
+
+    @Test
+    @DisplayName("알림을 보낸 (회원 분실물, 분실물) 쌍은 다시 매칭해도 메일을 보내지 않음")
+    void matchLedger() {
+        // given
+        MemberLostItem memberLostItem = memberLostItemRepository.save(MemberLostItem.builder()
+                .member(memberRepository.findById(1L).get())
+                .category(LostCategory.TOY)
+                .itemName("LEDGER-곰인형")
+                .build());
+        index(memberLostItem);
+        lostItemRepository.save(LostItem.builder()
+                .id("LEDGER-1")
+                .status(LostStatus.KEEP)
+                .category(LostCategory.TOY)
+                .itemName("LEDGER-곰인형 갈색")
+                .build());
+
+        // when
+        schedulerService.matchingItemSendEmail();
+        jobCheckpointRepository.deleteById(JobCheckpoint.MATCH);     // 매칭 cursor 를 지워 같은 구간을 다시 매칭
+        schedulerService.matchingItemSendEmail();
+
+        // then
+        assertThat(outboxes("LEDGER-곰인형 갈색")).isEqualTo(1);
+        assertThat(matchLedgerRepository.existsById(new MatchLedger.Key(memberLostItem.getId(), "LEDGER-1"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("적재 event 의 분실물만 매칭")
+    void matchLostItems() {
+        // given
+        MemberLostItem memberLostItem = memberLostItemRepository.save(MemberLostItem.builder()
+                .member(memberRepository.findById(1L).get())
+                .category(LostCategory.TOY)
+                .itemName("EVENT-곰인형")
+                .build());
+        index(memberLostItem);
+        lostItemRepository.save(LostItem.builder()
+                .id("EVENT-1")
+                .status(LostStatus.KEEP)
+                .category(LostCategory.TOY)
+                .itemName("EVENT-곰인형 갈색")
+                .build());
+        lostItemRepository.save(LostItem.builder()
+                .id("EVENT-2")
+                .status(LostStatus.KEEP)
+                .category(LostCategory.TOY)
+                .itemName("EVENT-곰인형 흰색")
+                .build());
+
+        // when
+        schedulerService.matchLostItems(List.of("EVENT-1"));
+
+        // then
+        assertThat(outboxes("EVENT-곰인형 갈색")).isEqualTo(1);
+        assertThat(outboxes("EVENT-곰인형 흰색")).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 매칭 구간에서 이미 알린 건수만큼 topK 에서 빼고 알림")
+    void topKPerMemberLostItem() {
+        // given
+        MemberLostItem memberLostItem = memberLostItemRepository.save(MemberLostItem.builder()
+                .member(memberRepository.findById(1L).get())
+                .category(LostCategory.TOY)
+                .itemName("TOPK-곰인형")
+                .build());
+        index(memberLostItem);
+        for (int i = 1; i <= 6; i++) {
+            lostItemRepository.save(LostItem.builder()
+                    .id("TOPK-" + i)
+                    .status(LostStatus.KEEP)
+                    .category(LostCategory.TOY)
+                    .itemName("TOPK-곰인형 " + i)
+                    .build());
+        }
+
+        // when
+        schedulerService.matchLostItems(List.of("TOPK-1", "TOPK-2", "TOPK-3", "TOPK-4", "TOPK-5"));
+        schedulerService.matchLostItems(List.of("TOPK-6"));
+
+        // then
+        assertThat(matchLedgerRepository.countNotifiedSince(List.of(memberLostItem.getId()), null))
+                .containsEntry(memberLostItem.getId(), 5L);     // topK 기본값 5
+        assertThat(outboxes("TOPK-곰인형 6")).isZero();
+    }
+
+    @Test
+    @DisplayName("한 번의 매칭에서 같은 회원에게 매칭된 분실물은 메일 1통으로 모음")
+    void digest() {
+        // given
+        for (String itemName : List.of("DIGEST-카드", "DIGEST-카드지갑")) {
+            index(memberLostItemRepository.save(MemberLostItem.builder()
+                    .member(memberRepository.findById(1L).get())
+                    .category(LostCategory.WALLET)
+                    .itemName(itemName)
+                    .build()));
+        }
+        for (int i = 1; i <= 3; i++) {
+            lostItemRepository.save(LostItem.builder()
+                    .id("DIGEST-" + i)
+                    .status(LostStatus.KEEP)
+                    .category(LostCategory.WALLET)
+                    .itemName("DIGEST-카드지갑 " + i)
+                    .build());
+        }
+
+        // when
+        schedulerService.matchingItemSendEmail();
+
+        // then
+        List<MailDigestVO> digests = mailOutboxRepository.findAll().stream()
+                .map(MailOutboxService::digest)
+                .filter(digest -> digest.getItems().stream().anyMatch(mail -> mail.getItemName().startsWith("DIGEST-")))
+                .collect(Collectors.toList());
+        assertThat(digests).hasSize(1);
+        assertThat(digests.get(0).getEmail()).isEqualTo("admin@naver.com");
+        assertThat(digests.get(0).getItems())
+                .filteredOn(mail -> mail.getItemName().startsWith("DIGEST-"))
+                .hasSize(3);    // 회원 분실물 2건에 모두 매칭되어도 분실물 3건은 1번씩
+        assertThat(matchLedgerRepository.findNotified(List.of("DIGEST-1", "DIGEST-2", "DIGEST-3")).values())
+                .allSatisfy(memberLostItemIds -> assertThat(memberLostItemIds).hasSize(2));   // ledger 는 쌍마다 기록
+    }
+
+    // 테스트 트랜잭션은 commit 되지 않으므로 바로 색인
+    private void index(MemberLostItem memberLostItem) {
+        memberLostItemIndex.put(MemberLostItemQueryVO.of(memberLostItem));
+        indexed.add(memberLostItem.getId());
+    }
+
+    // 매칭 트랜잭션에서는 메일을 보내지 않고 outbox 에만 저장
+    private long outboxes(String itemName) {
+        return mailOutboxRepository.findAll().stream()
+                .map(MailOutboxService::digest)
+                .flatMap(digest -> digest.getItems().stream())
+                .filter(mail -> itemName.equals(mail.getItemName()))
+                .count();
+    }
+}
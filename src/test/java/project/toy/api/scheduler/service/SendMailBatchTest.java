@@ -0,0 +1,103 @@
+package project.toy.api.scheduler.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostStatus;
+import project.toy.api.scheduler.vo.MailDigestVO;
+import project.toy.api.scheduler.vo.SendMailVO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 fake SMTP 서버 (GreenMail) 로 건별 발송과 batch 발송 비교
+ */
+@Slf4j
+class SendMailBatchTest {
+
+    static final int MAILS = 200;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    SendMail sendMail;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        MailTemplates mailTemplates = new MailTemplates();
+        mailTemplates.init();
+        sendMail = new SendMail(mailSender, mailTemplates);
+        ReflectionTestUtils.setField(sendMail, "chunkSize", 50);
+    }
+
+    @Test
+    @DisplayName("메일 200건 건별 발송 vs SMTP 연결 재사용 batch 발송 처리량")
+    void throughput() {
+        // given
+        List<MailDigestVO> digests = digests(MAILS);
+
+        // when
+        long single = System.nanoTime();
+        digests.forEach(sendMail::send);
+        single = System.nanoTime() - single;
+
+        long batch = System.nanoTime();
+        Map<Integer, Exception> failures = sendMail.sendBatch(digests);
+        batch = System.nanoTime() - batch;
+
+        // then
+        log.info("mails={}, single={} mails/s, batch={} mails/s", MAILS, perSecond(single), perSecond(batch));
+        assertThat(failures).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).hasSize(MAILS * 2);
+    }
+
+    @Test
+    @DisplayName("주소가 잘못된 메일만 실패하고 나머지는 발송")
+    void partialFailure() {
+        // given
+        List<MailDigestVO> digests = new ArrayList<>(digests(3));
+        digests.get(1).setEmail("");
+
+        // when
+        Map<Integer, Exception> failures = sendMail.sendBatch(digests);
+
+        // then
+        assertThat(failures).containsOnlyKeys(1);
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+    }
+
+    private List<MailDigestVO> digests(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> MailDigestVO.builder()
+                        .email("member" + i + "@test.com")
+                        .items(List.of(SendMailVO.builder()
+                                .email("member" + i + "@test.com")
+                                .status(LostStatus.KEEP)
+                                .category(LostCategory.TOY)
+                                .itemName("닌텐도")
+                                .takePosition("영등포 경찰서")
+                                .build()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private long perSecond(long nanos) {
+        return MAILS * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
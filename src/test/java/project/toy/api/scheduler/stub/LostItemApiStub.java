@@ -0,0 +1,173 @@
+package project.toy.api.scheduler.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import project.toy.api.domain.LostCategory;
+import project.toy.api.domain.LostStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 서울시 분실물 api(lostArticleInfo) 와 같은 json 형태를 응답하는 local stub.
+ * 요청 경로의 마지막 두 값을 start/end index 로 보고, index 로 결정되는 가상 데이터를 스트리밍으로 내려준다.
+ * 데이터를 메모리에 만들어 두지 않으므로 totalCount 를 1,000,000 이상으로 두어도 된다.
+ * <pre>
+ *   baseUrl = stub.getBaseUrl()   // http://localhost:{port}/{key}/json/lostArticleInfo/
+ * </pre>
+ */
+public class LostItemApiStub implements AutoCloseable {
+
+    private static final String[] NAMES = {"지갑", "갤럭시 S22", "아이폰", "검정 백팩", "우산", "노트북", "에어팟", "카드지갑", "쇼핑백", "책"};
+    private static final String[] DETAILS = {"검정색", "흰색", "상진운수", "성원여객", "버스 뒷좌석", "지하철 2호선", "신분증 포함"};
+    private static final String[] POSITIONS = {"영등포 경찰서", "서울교통공사", "상진운수", "성원여객", "유실물센터"};
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private volatile int totalCount;
+    private volatile long latencyMillis;
+    private volatile double errorRate;
+    private volatile boolean gzip;
+
+    private final AtomicInteger failNext = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public LostItemApiStub(int totalCount) throws IOException {
+        this.totalCount = totalCount;
+        this.executor = Executors.newFixedThreadPool(16);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/stub-key/json/lostArticleInfo/";
+    }
+
+    public LostItemApiStub totalCount(int totalCount) {
+        this.totalCount = totalCount;
+        return this;
+    }
+
+    public LostItemApiStub latencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    // 0.0 ~ 1.0 확률로 500 응답
+    public LostItemApiStub errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    // 다음 n 번의 요청은 500 응답
+    public LostItemApiStub failNext(int n) {
+        this.failNext.set(n);
+        return this;
+    }
+
+    public LostItemApiStub gzip(boolean gzip) {
+        this.gzip = gzip;
+        return this;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * index 에 해당하는 가상 분실물 SEQ
+     */
+    public static String id(int index) {
+        return String.valueOf(index);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            boolean fail = failNext.getAndUpdate(n -> Math.max(0, n - 1)) > 0;
+            if (fail || (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate)) {
+                errors.incrementAndGet();
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            int start = Integer.parseInt(path[path.length - 2]);
+            int end = Integer.parseInt(path[path.length - 1]);
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+            if (gzip) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, 0);
+
+            OutputStream body = gzip ? new GZIPOutputStream(exchange.getResponseBody()) : exchange.getResponseBody();
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8))) {
+                write(writer, start, Math.min(end, totalCount));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            exchange.sendResponseHeaders(400, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void write(BufferedWriter writer, int start, int end) throws IOException {
+        if (start > end) {
+            writer.write("{\"RESULT\":{\"CODE\":\"INFO-200\",\"MESSAGE\":\"해당하는 데이터가 없습니다.\"}}");
+            return;
+        }
+
+        writer.write("{\"lostArticleInfo\":{\"list_total_count\":" + totalCount
+                + ",\"RESULT\":{\"CODE\":\"INFO-000\",\"MESSAGE\":\"정상 처리되었습니다\"},\"row\":[");
+        LostStatus[] statuses = LostStatus.values();
+        LostCategory[] categories = LostCategory.values();
+        for (int i = start; i <= end; i++) {
+            if (i > start) {
+                writer.write(',');
+            }
+            writer.write("{\"ID\":\"" + id(i) + "\""
+                    + ",\"TAKE_ID\":\"stub\""
+                    + ",\"STATUS\":\"" + statuses[i % statuses.length].getValue() + "\""
+                    + ",\"CATE\":\"" + categories[i % categories.length].getValue() + "\""
+                    + ",\"GET_NAME\":\"" + NAMES[i % NAMES.length] + "\""
+                    + ",\"GET_THING\":\"" + DETAILS[i % DETAILS.length] + "\""
+                    + ",\"TAKE_PLACE\":\"버스\""
+                    + ",\"GET_POSITION\":\"" + POSITIONS[i % POSITIONS.length] + "\""
+                    + ",\"REG_DATE\":\"2023-02-" + String.format("%02d", i % 28 + 1) + "\""
+                    + ",\"GET_DATE\":\"2023-01-" + String.format("%02d", i % 28 + 1) + "\""
+                    + ",\"READ_CNT\":" + (i % 100)
+                    + "}");
+        }
+        writer.write("]}}");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}